@@ -151,7 +151,8 @@ public final class ArtifactUtils
             range = VersionRange.createFromVersion( artifact.getVersion() );
         }
 
-        DefaultArtifact clone = new DefaultArtifact( artifact.getGroupId(), artifact.getArtifactId(), range.cloneOf(),
+        // version ranges are immutable and the coordinates are interned, so the copy shares both with the original
+        DefaultArtifact clone = new DefaultArtifact( artifact.getGroupId(), artifact.getArtifactId(), range,
             artifact.getScope(), artifact.getType(), artifact.getClassifier(),
             artifact.getArtifactHandler(), artifact.isOptional() );
         clone.setRelease( artifact.isRelease() );
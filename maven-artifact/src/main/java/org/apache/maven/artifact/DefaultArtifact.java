@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.regex.Matcher;
 
 import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.internal.BoundedCache;
 import org.apache.maven.artifact.metadata.ArtifactMetadata;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
@@ -43,15 +44,25 @@ import org.codehaus.plexus.util.StringUtils;
 public class DefaultArtifact
     implements Artifact
 {
-    private String groupId;
+    private static final String CACHE_SIZE_PROPERTY = "maven.coordinateCache.size";
 
-    private String artifactId;
+    /**
+     * The interned coordinates and version/scope strings, the same coordinates are usually requested over and over
+     * while processing the dependency graphs of a reactor.
+     */
+    private static final BoundedCache<Coordinates, Coordinates> COORDINATES =
+        new BoundedCache<Coordinates, Coordinates>( CACHE_SIZE_PROPERTY, 8192 );
 
-    private String baseVersion;
+    private static final BoundedCache<String, String> STRINGS =
+        new BoundedCache<String, String>( CACHE_SIZE_PROPERTY, 8192 );
 
-    private final String type;
+    /**
+     * The groupId, artifactId, type and classifier. The coordinates are immutable and shared with other artifacts, the
+     * setters replace them.
+     */
+    private Coordinates coordinates;
 
-    private final String classifier;
+    private String baseVersion;
 
     private String scope;
 
@@ -97,34 +108,44 @@ public class DefaultArtifact
     public DefaultArtifact( String groupId, String artifactId, VersionRange versionRange, String scope, String type,
                             String classifier, ArtifactHandler artifactHandler, boolean optional )
     {
-        this.groupId = groupId;
-
-        this.artifactId = artifactId;
-
         this.versionRange = versionRange;
 
         selectVersionFromNewRangeIfAvailable();
 
         this.artifactHandler = artifactHandler;
 
-        this.scope = scope;
-
-        this.type = type;
+        this.scope = intern( scope );
 
         if ( classifier == null )
         {
             classifier = artifactHandler.getClassifier();
         }
 
-        this.classifier = classifier;
+        this.coordinates = Coordinates.valueOf( groupId, artifactId, type, classifier );
 
         this.optional = optional;
 
         validateIdentity();
     }
 
+    private static String intern( String value )
+    {
+        if ( value == null )
+        {
+            return value;
+        }
+
+        String interned = STRINGS.get( value );
+
+        return ( interned != null ) ? interned : STRINGS.putIfAbsent( value, value );
+    }
+
     private void validateIdentity()
     {
+        String groupId = coordinates.groupId;
+        String artifactId = coordinates.artifactId;
+        String type = coordinates.type;
+
         if ( empty( groupId ) )
         {
             throw new InvalidArtifactRTException( groupId, artifactId, getVersion(), type,
@@ -157,12 +178,12 @@ public class DefaultArtifact
 
     public String getClassifier()
     {
-        return classifier;
+        return coordinates.classifier;
     }
 
     public boolean hasClassifier()
     {
-        return StringUtils.isNotEmpty( classifier );
+        return StringUtils.isNotEmpty( coordinates.classifier );
     }
 
     public String getScope()
@@ -172,12 +193,12 @@ public class DefaultArtifact
 
     public String getGroupId()
     {
-        return groupId;
+        return coordinates.groupId;
     }
 
     public String getArtifactId()
     {
-        return artifactId;
+        return coordinates.artifactId;
     }
 
     public String getVersion()
@@ -187,14 +208,14 @@ public class DefaultArtifact
 
     public void setVersion( String version )
     {
-        this.version = version;
+        this.version = intern( version );
         setBaseVersionInternal( version );
         versionRange = null;
     }
 
     public String getType()
     {
-        return type;
+        return coordinates.type;
     }
 
     public void setFile( File file )
@@ -308,14 +329,14 @@ public class DefaultArtifact
     public int hashCode()
     {
         int result = 17;
-        result = 37 * result + groupId.hashCode();
-        result = 37 * result + artifactId.hashCode();
-        result = 37 * result + type.hashCode();
+        result = 37 * result + coordinates.groupId.hashCode();
+        result = 37 * result + coordinates.artifactId.hashCode();
+        result = 37 * result + coordinates.type.hashCode();
         if ( version != null )
         {
             result = 37 * result + version.hashCode();
         }
-        result = 37 * result + ( classifier != null ? classifier.hashCode() : 0 );
+        result = 37 * result + ( coordinates.classifier != null ? coordinates.classifier.hashCode() : 0 );
         return result;
     }
 
@@ -333,6 +354,11 @@ public class DefaultArtifact
 
         Artifact a = (Artifact) o;
 
+        String groupId = coordinates.groupId;
+        String artifactId = coordinates.artifactId;
+        String type = coordinates.type;
+        String classifier = coordinates.classifier;
+
         if ( !a.getGroupId().equals( groupId ) )
         {
             return false;
@@ -390,16 +416,21 @@ public class DefaultArtifact
 
         if ( m.matches() )
         {
-            this.baseVersion = m.group( 1 ) + "-" + SNAPSHOT_VERSION;
+            this.baseVersion = intern( m.group( 1 ) + "-" + SNAPSHOT_VERSION );
         }
         else
         {
-            this.baseVersion = baseVersion;
+            this.baseVersion = intern( baseVersion );
         }
     }
 
     public int compareTo( Artifact a )
     {
+        String groupId = coordinates.groupId;
+        String artifactId = coordinates.artifactId;
+        String type = coordinates.type;
+        String classifier = coordinates.classifier;
+
         int result = groupId.compareTo( a.getGroupId() );
         if ( result == 0 )
         {
@@ -482,7 +513,7 @@ public class DefaultArtifact
 
     public void setScope( String scope )
     {
-        this.scope = scope;
+        this.scope = intern( scope );
     }
 
     public VersionRange getVersionRange()
@@ -512,18 +543,18 @@ public class DefaultArtifact
 
     public void selectVersion( String version )
     {
-        this.version = version;
+        this.version = intern( version );
         setBaseVersionInternal( version );
     }
 
     public void setGroupId( String groupId )
     {
-        this.groupId = groupId;
+        coordinates = Coordinates.valueOf( groupId, coordinates.artifactId, coordinates.type, coordinates.classifier );
     }
 
     public void setArtifactId( String artifactId )
     {
-        this.artifactId = artifactId;
+        coordinates = Coordinates.valueOf( coordinates.groupId, artifactId, coordinates.type, coordinates.classifier );
     }
 
     public boolean isSnapshot()
@@ -544,7 +575,7 @@ public class DefaultArtifact
 
     public void setResolvedVersion( String version )
     {
-        this.version = version;
+        this.version = intern( version );
         // retain baseVersion
     }
 
@@ -595,4 +626,86 @@ public class DefaultArtifact
         this.optional = optional;
     }
 
+    /**
+     * The immutable identity of an artifact, apart from its version.
+     */
+    private static final class Coordinates
+    {
+
+        final String groupId;
+
+        final String artifactId;
+
+        final String type;
+
+        final String classifier;
+
+        private final int hashCode;
+
+        private Coordinates( String groupId, String artifactId, String type, String classifier )
+        {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.type = type;
+            this.classifier = classifier;
+
+            int hash = 17;
+            hash = hash * 31 + ( groupId != null ? groupId.hashCode() : 0 );
+            hash = hash * 31 + ( artifactId != null ? artifactId.hashCode() : 0 );
+            hash = hash * 31 + ( type != null ? type.hashCode() : 0 );
+            hash = hash * 31 + ( classifier != null ? classifier.hashCode() : 0 );
+            this.hashCode = hash;
+        }
+
+        static Coordinates valueOf( String groupId, String artifactId, String type, String classifier )
+        {
+            Coordinates key = new Coordinates( groupId, artifactId, type, classifier );
+
+            if ( !COORDINATES.isEnabled() )
+            {
+                return key;
+            }
+
+            Coordinates coordinates = COORDINATES.get( key );
+
+            if ( coordinates == null )
+            {
+                coordinates =
+                    new Coordinates( intern( groupId ), intern( artifactId ), intern( type ), intern( classifier ) );
+
+                coordinates = COORDINATES.putIfAbsent( coordinates, coordinates );
+            }
+
+            return coordinates;
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( this == obj )
+            {
+                return true;
+            }
+            if ( !( obj instanceof Coordinates ) )
+            {
+                return false;
+            }
+            Coordinates that = (Coordinates) obj;
+            return hashCode == that.hashCode && eq( groupId, that.groupId ) && eq( artifactId, that.artifactId )
+                && eq( type, that.type ) && eq( classifier, that.classifier );
+        }
+
+        private static boolean eq( String s1, String s2 )
+        {
+            return s1 != null ? s1.equals( s2 ) : s2 == null;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+    }
+
 }
@@ -0,0 +1,150 @@
+package org.apache.maven.artifact.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A thread-safe cache holding at most a fixed number of entries, meant for memoizing values that are cheap to
+ * recompute but requested over and over, like parsed versions or formatted paths.
+ * <p/>
+ * Instead of tracking the usage of its entries, the cache is simply cleared when it gets full. Lookups therefore cost
+ * no more than those of a plain concurrent map, and the few values of the working set that get dropped along with the
+ * stale ones are recomputed on their next use. Concurrent puts may briefly exceed the maximum size by the number of
+ * writing threads.
+ * <p/>
+ * NOTE: This class is not part of any public api and can be changed or deleted without prior notice.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public final class BoundedCache<K, V>
+{
+
+    private final ConcurrentMap<K, V> entries = new ConcurrentHashMap<K, V>();
+
+    private final int maxSize;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize The maximum number of entries, a non-positive value disables the cache.
+     */
+    public BoundedCache( int maxSize )
+    {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Creates a new cache whose maximum number of entries can be overridden by a system property.
+     *
+     * @param property The name of the system property holding the maximum number of entries, must not be
+     *            {@code null}. A non-positive value disables the cache.
+     * @param defaultMaxSize The maximum number of entries if the system property is not set.
+     */
+    public BoundedCache( String property, int defaultMaxSize )
+    {
+        this( Integer.getInteger( property, defaultMaxSize ).intValue() );
+    }
+
+    /**
+     * Indicates whether this cache holds entries at all.
+     *
+     * @return {@code false} if the cache has been disabled, {@code true} otherwise.
+     */
+    public boolean isEnabled()
+    {
+        return maxSize > 0;
+    }
+
+    /**
+     * Gets the value cached for the specified key.
+     *
+     * @param key The key, must not be {@code null}.
+     * @return The cached value or {@code null} if none.
+     */
+    public V get( K key )
+    {
+        return entries.get( key );
+    }
+
+    /**
+     * Caches the specified value, clearing the cache first if it is full.
+     *
+     * @param key The key, must not be {@code null}.
+     * @param value The value, must not be {@code null}.
+     */
+    public void put( K key, V value )
+    {
+        if ( maxSize > 0 )
+        {
+            makeRoom();
+            entries.put( key, value );
+        }
+    }
+
+    /**
+     * Caches the specified value unless a value is already cached for the key, clearing the cache first if it is full.
+     *
+     * @param key The key, must not be {@code null}.
+     * @param value The value, must not be {@code null}.
+     * @return The value that is cached for the key, i.e. either the previous value or the specified value, or the
+     *         specified value if the cache is disabled.
+     */
+    public V putIfAbsent( K key, V value )
+    {
+        if ( maxSize <= 0 )
+        {
+            return value;
+        }
+
+        makeRoom();
+        V previous = entries.putIfAbsent( key, value );
+        return ( previous != null ) ? previous : value;
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void clear()
+    {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of cached entries.
+     *
+     * @return The number of cached entries.
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    private void makeRoom()
+    {
+        if ( entries.size() >= maxSize )
+        {
+            entries.clear();
+        }
+    }
+
+}
@@ -29,6 +29,8 @@ import java.util.Locale;
 import java.util.Properties;
 import java.util.Stack;
 
+import org.apache.maven.artifact.internal.BoundedCache;
+
 /**
  * Generic implementation of version comparison. Features:
  * <ul>
@@ -50,6 +52,8 @@ import java.util.Stack;
  *   </li>
  * <li>a dash usually precedes a qualifier, and is always less important than something preceded with a dot.</li>
  * </ul>
+ * The parsed form of recently used version strings is shared between instances, the maximum number of cached version
+ * strings can be set via the system property {@code maven.versionCache.size} (0 disables the cache).
  *
  * @see <a href="http://docs.codehaus.org/display/MAVEN/Versioning">"Versioning" on Maven Wiki</a>
  * @author <a href="mailto:kenney@apache.org">Kenney Westerhof</a>
@@ -59,6 +63,13 @@ import java.util.Stack;
 public class ComparableVersion
     implements Comparable<ComparableVersion>
 {
+    /**
+     * The parsed versions, indexed by version string. The parsed items are never modified after parsing and can safely
+     * be shared.
+     */
+    private static final BoundedCache<String, Parsed> CACHE =
+        new BoundedCache<String, Parsed>( "maven.versionCache.size", 4096 );
+
     private String value;
 
     private String canonical;
@@ -84,20 +95,41 @@ public class ComparableVersion
     private static class IntegerItem
         implements Item
     {
-    	private static final BigInteger BigInteger_ZERO = new BigInteger( "0" );
+        /**
+         * The maximum number of digits that surely fit into a {@code long}.
+         */
+        private static final int MAX_LONG_DIGITS = 18;
 
-        private final BigInteger value;
+        /**
+         * The value if it fits into a {@code long}, i.e. if {@link #bigValue} is {@code null}.
+         */
+        private final long value;
+
+        /**
+         * The value if it does not fit into a {@code long}, {@code null} otherwise.
+         */
+        private final BigInteger bigValue;
 
         public static final IntegerItem ZERO = new IntegerItem();
 
         private IntegerItem()
         {
-            this.value = BigInteger_ZERO;
+            this.value = 0;
+            this.bigValue = null;
         }
 
         public IntegerItem( String str )
         {
-            this.value = new BigInteger( str );
+            if ( str.length() <= MAX_LONG_DIGITS )
+            {
+                this.value = Long.parseLong( str );
+                this.bigValue = null;
+            }
+            else
+            {
+                this.value = 0;
+                this.bigValue = new BigInteger( str );
+            }
         }
 
         public int getType()
@@ -107,20 +139,30 @@ public class ComparableVersion
 
         public boolean isNull()
         {
-            return BigInteger_ZERO.equals( value );
+            return bigValue == null ? value == 0 : bigValue.signum() == 0;
+        }
+
+        private BigInteger toBigInteger()
+        {
+            return bigValue == null ? BigInteger.valueOf( value ) : bigValue;
         }
 
         public int compareTo( Item item )
         {
             if ( item == null )
             {
-                return BigInteger_ZERO.equals( value ) ? 0 : 1; // 1.0 == 1, 1.1 > 1
+                return isNull() ? 0 : 1; // 1.0 == 1, 1.1 > 1
             }
 
             switch ( item.getType() )
             {
                 case INTEGER_ITEM:
-                    return value.compareTo( ( (IntegerItem) item ).value );
+                    IntegerItem other = (IntegerItem) item;
+                    if ( bigValue == null && other.bigValue == null )
+                    {
+                        return value < other.value ? -1 : ( value == other.value ? 0 : 1 );
+                    }
+                    return toBigInteger().compareTo( other.toBigInteger() );
 
                 case STRING_ITEM:
                     return 1; // 1.1 > 1-sp
@@ -135,7 +177,7 @@ public class ComparableVersion
 
         public String toString()
         {
-            return value.toString();
+            return bigValue == null ? Long.toString( value ) : bigValue.toString();
         }
     }
 
@@ -165,6 +207,12 @@ public class ComparableVersion
 
         private String value;
 
+        /**
+         * The result of {@link #comparableQualifier(String)} for the value, computed once to keep comparisons free of
+         * allocations.
+         */
+        private String comparable;
+
         public StringItem( String value, boolean followedByDigit )
         {
             if ( followedByDigit && value.length() == 1 )
@@ -184,6 +232,7 @@ public class ComparableVersion
                 }
             }
             this.value = ALIASES.getProperty( value , value );
+            this.comparable = comparableQualifier( this.value );
         }
 
         public int getType()
@@ -193,7 +242,7 @@ public class ComparableVersion
 
         public boolean isNull()
         {
-            return ( comparableQualifier( value ).compareTo( RELEASE_VERSION_INDEX ) == 0 );
+            return ( comparable.compareTo( RELEASE_VERSION_INDEX ) == 0 );
         }
 
         /**
@@ -221,7 +270,7 @@ public class ComparableVersion
             if ( item == null )
             {
                 // 1-rc < 1, 1-ga > 1
-                return comparableQualifier( value ).compareTo( RELEASE_VERSION_INDEX );
+                return comparable.compareTo( RELEASE_VERSION_INDEX );
             }
             switch ( item.getType() )
             {
@@ -229,7 +278,7 @@ public class ComparableVersion
                     return -1; // 1.any < 1.1 ?
 
                 case STRING_ITEM:
-                    return comparableQualifier( value ).compareTo( comparableQualifier( ( (StringItem) item ).value ) );
+                    return comparable.compareTo( ( (StringItem) item ).comparable );
 
                 case LIST_ITEM:
                     return -1; // 1.any < 1-1
@@ -299,13 +348,13 @@ public class ComparableVersion
                     return 1; // 1-1 > 1-sp
 
                 case LIST_ITEM:
-                    Iterator<Item> left = iterator();
-                    Iterator<Item> right = ( (ListItem) item ).iterator();
+                    ListItem other = (ListItem) item;
 
-                    while ( left.hasNext() || right.hasNext() )
+                    // indexed access rather than iterators to keep the comparison free of allocations
+                    for ( int i = 0, n = Math.max( size(), other.size() ); i < n; i++ )
                     {
-                        Item l = left.hasNext() ? left.next() : null;
-                        Item r = right.hasNext() ? right.next() : null;
+                        Item l = i < size() ? get( i ) : null;
+                        Item r = i < other.size() ? other.get( i ) : null;
 
                         // if this is shorter, then invert the compare and mul with -1
                         int result = l == null ? -1 * r.compareTo( l ) : l.compareTo( r );
@@ -348,7 +397,22 @@ public class ComparableVersion
     {
         this.value = version;
 
-        items = new ListItem();
+        Parsed parsed = CACHE.get( version );
+
+        if ( parsed == null )
+        {
+            parsed = parse( version );
+
+            CACHE.put( version, parsed );
+        }
+
+        items = parsed.items;
+        canonical = parsed.canonical;
+    }
+
+    private static Parsed parse( String version )
+    {
+        ListItem items = new ListItem();
 
         version = version.toLowerCase( Locale.ENGLISH );
 
@@ -436,7 +500,7 @@ public class ComparableVersion
             list.normalize();
         }
 
-        canonical = items.toString();
+        return new Parsed( items, items.toString() );
     }
 
     private static Item parseItem( boolean isDigit, String buf )
@@ -446,6 +510,10 @@ public class ComparableVersion
 
     public int compareTo( ComparableVersion o )
     {
+        if ( items == o.items )
+        {
+            return 0;
+        }
         return items.compareTo( o.items );
     }
 
@@ -463,4 +531,20 @@ public class ComparableVersion
     {
         return canonical.hashCode();
     }
+
+    /**
+     * The result of parsing a version string.
+     */
+    private static final class Parsed
+    {
+        final ListItem items;
+
+        final String canonical;
+
+        Parsed( ListItem items, String canonical )
+        {
+            this.items = items;
+            this.canonical = canonical;
+        }
+    }
 }
@@ -25,15 +25,29 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.internal.BoundedCache;
 
 /**
- * Construct a version range from a specification.
+ * Construct a version range from a specification. Version ranges are immutable, the instances created from the same
+ * specification as well as the results of restricting the same ranges are shared. The maximum number of cached ranges
+ * can be set via the system property {@code maven.versionRangeCache.size} (0 disables the caches).
  *
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
  * @version $Id$
  */
 public class VersionRange
 {
+    private static final String CACHE_SIZE_PROPERTY = "maven.versionRangeCache.size";
+
+    private static final BoundedCache<String, VersionRange> SPEC_CACHE =
+        new BoundedCache<String, VersionRange>( CACHE_SIZE_PROPERTY, 4096 );
+
+    private static final BoundedCache<String, VersionRange> VERSION_CACHE =
+        new BoundedCache<String, VersionRange>( CACHE_SIZE_PROPERTY, 4096 );
+
+    private static final BoundedCache<RangePair, VersionRange> RESTRICT_CACHE =
+        new BoundedCache<RangePair, VersionRange>( CACHE_SIZE_PROPERTY, 4096 );
+
     private final ArtifactVersion recommendedVersion;
 
     private final List<Restriction> restrictions;
@@ -85,7 +99,7 @@ public class VersionRange
      * </ul>
      *
      * @param spec string representation of a version or version range
-     * @return a new {@link VersionRange} object that represents the spec
+     * @return a {@link VersionRange} object that represents the spec, possibly shared with previous callers
      * @throws InvalidVersionSpecificationException
      *
      */
@@ -97,6 +111,21 @@ public class VersionRange
             return null;
         }
 
+        VersionRange range = SPEC_CACHE.get( spec );
+
+        if ( range == null )
+        {
+            range = parseVersionSpec( spec );
+
+            SPEC_CACHE.put( spec, range );
+        }
+
+        return range;
+    }
+
+    private static VersionRange parseVersionSpec( String spec )
+        throws InvalidVersionSpecificationException
+    {
         List<Restriction> restrictions = new ArrayList<Restriction>();
         String process = spec;
         ArtifactVersion version = null;
@@ -159,7 +188,7 @@ public class VersionRange
             }
         }
 
-        return new VersionRange( version, restrictions );
+        return new VersionRange( version, Collections.unmodifiableList( restrictions ) );
     }
 
     private static Restriction parseRestriction( String spec )
@@ -218,8 +247,17 @@ public class VersionRange
 
     public static VersionRange createFromVersion( String version )
     {
-        List<Restriction> restrictions = Collections.emptyList();
-        return new VersionRange( new DefaultArtifactVersion( version ), restrictions );
+        VersionRange range = VERSION_CACHE.get( version );
+
+        if ( range == null )
+        {
+            List<Restriction> restrictions = Collections.emptyList();
+            range = new VersionRange( new DefaultArtifactVersion( version ), restrictions );
+
+            VERSION_CACHE.put( version, range );
+        }
+
+        return range;
     }
 
     /**
@@ -251,6 +289,22 @@ public class VersionRange
      *                              <code>null</code>.
      */
     public VersionRange restrict( VersionRange restriction )
+    {
+        RangePair key = new RangePair( this, restriction );
+
+        VersionRange range = RESTRICT_CACHE.get( key );
+
+        if ( range == null )
+        {
+            range = doRestrict( restriction );
+
+            RESTRICT_CACHE.put( key, range );
+        }
+
+        return range;
+    }
+
+    private VersionRange doRestrict( VersionRange restriction )
     {
         List<Restriction> r1 = this.restrictions;
         List<Restriction> r2 = restriction.restrictions;
@@ -262,7 +316,7 @@ public class VersionRange
         }
         else
         {
-            restrictions = intersection( r1, r2 );
+            restrictions = Collections.unmodifiableList( intersection( r1, r2 ) );
         }
 
         ArtifactVersion version = null;
@@ -581,4 +635,44 @@ public class VersionRange
         hash = 31 * hash + ( restrictions == null ? 0 : restrictions.hashCode() );
         return hash;
     }
+
+    /**
+     * The key of the restriction cache. The ranges are compared by identity, equal ranges can still have differently
+     * spelled recommended versions like "1" and "1.0", and callers are expected to get back the exact one.
+     */
+    private static final class RangePair
+    {
+
+        private final VersionRange range;
+
+        private final VersionRange restriction;
+
+        RangePair( VersionRange range, VersionRange restriction )
+        {
+            this.range = range;
+            this.restriction = restriction;
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( this == obj )
+            {
+                return true;
+            }
+            if ( !( obj instanceof RangePair ) )
+            {
+                return false;
+            }
+            RangePair that = (RangePair) obj;
+            return range == that.range && restriction == that.restriction;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode( range ) * 31 + System.identityHashCode( restriction );
+        }
+
+    }
 }
@@ -0,0 +1,115 @@
+package org.apache.maven.artifact;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+import org.apache.maven.artifact.handler.ArtifactHandler;
+
+public class DefaultArtifactTest
+    extends TestCase
+{
+
+    private ArtifactHandler handler = new ArtifactHandler()
+    {
+        public String getExtension()
+        {
+            return "jar";
+        }
+
+        public String getDirectory()
+        {
+            return "jars";
+        }
+
+        public String getClassifier()
+        {
+            return null;
+        }
+
+        public String getPackaging()
+        {
+            return "jar";
+        }
+
+        public boolean isIncludesDependencies()
+        {
+            return false;
+        }
+
+        public String getLanguage()
+        {
+            return "java";
+        }
+
+        public boolean isAddedToClasspath()
+        {
+            return true;
+        }
+    };
+
+    private Artifact newArtifact( String groupId, String artifactId, String version, String classifier )
+    {
+        return new DefaultArtifact( new String( groupId ), new String( artifactId ), new String( version ), "compile",
+                                    "jar", classifier, handler );
+    }
+
+    public void testCoordinatesAreShared()
+    {
+        Artifact a1 = newArtifact( "org.apache", "a", "1.0", null );
+        Artifact a2 = newArtifact( "org.apache", "a", "1.0", null );
+
+        assertNotSame( a1, a2 );
+        assertEquals( a1, a2 );
+        assertEquals( a1.hashCode(), a2.hashCode() );
+        assertEquals( 0, a1.compareTo( a2 ) );
+        assertSame( a1.getGroupId(), a2.getGroupId() );
+        assertSame( a1.getArtifactId(), a2.getArtifactId() );
+        assertSame( a1.getVersion(), a2.getVersion() );
+    }
+
+    public void testSettersDoNotAffectOtherArtifacts()
+    {
+        Artifact a1 = newArtifact( "org.apache", "a", "1.0", "tests" );
+        Artifact a2 = newArtifact( "org.apache", "a", "1.0", "tests" );
+
+        a1.setGroupId( "org.codehaus" );
+        a1.setArtifactId( "b" );
+
+        assertEquals( "org.codehaus", a1.getGroupId() );
+        assertEquals( "b", a1.getArtifactId() );
+        assertEquals( "tests", a1.getClassifier() );
+        assertEquals( "org.apache", a2.getGroupId() );
+        assertEquals( "a", a2.getArtifactId() );
+        assertFalse( a1.equals( a2 ) );
+    }
+
+    public void testCopyArtifact()
+    {
+        Artifact artifact = newArtifact( "org.apache", "a", "1.0", null );
+
+        Artifact copy = ArtifactUtils.copyArtifact( artifact );
+
+        assertEquals( artifact, copy );
+        assertSame( artifact.getVersionRange(), copy.getVersionRange() );
+        assertEquals( artifact.getDependencyConflictId(), copy.getDependencyConflictId() );
+    }
+
+}
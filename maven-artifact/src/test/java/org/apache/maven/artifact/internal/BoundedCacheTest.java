@@ -0,0 +1,65 @@
+package org.apache.maven.artifact.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+public class BoundedCacheTest
+    extends TestCase
+{
+
+    public void testClearedWhenFull()
+    {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>( 2 );
+
+        cache.put( "a", "1" );
+        cache.put( "b", "2" );
+        assertEquals( 2, cache.size() );
+        assertEquals( "1", cache.get( "a" ) );
+
+        cache.put( "c", "3" );
+        assertEquals( 1, cache.size() );
+        assertNull( cache.get( "a" ) );
+        assertEquals( "3", cache.get( "c" ) );
+    }
+
+    public void testPutIfAbsent()
+    {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>( 2 );
+
+        String value = new String( "value" );
+        assertSame( value, cache.putIfAbsent( "key", value ) );
+        assertSame( value, cache.putIfAbsent( "key", new String( "value" ) ) );
+    }
+
+    public void testDisabled()
+    {
+        BoundedCache<String, String> cache = new BoundedCache<String, String>( 0 );
+        assertFalse( cache.isEnabled() );
+
+        cache.put( "a", "1" );
+        assertNull( cache.get( "a" ) );
+
+        String value = new String( "value" );
+        assertSame( value, cache.putIfAbsent( "key", value ) );
+        assertEquals( 0, cache.size() );
+    }
+
+}
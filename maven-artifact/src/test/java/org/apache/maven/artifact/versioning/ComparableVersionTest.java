@@ -204,4 +204,14 @@ public class ComparableVersionTest
 
         assertEquals( "reused instance should be equivalent to new instance", c1, c2 );
     }
+
+    public void testBigNumbers()
+    {
+        checkVersionsOrder( "1.999999999999999999", "1.1000000000000000000" );
+        checkVersionsOrder( "1.9223372036854775807", "1.9223372036854775808" );
+        checkVersionsOrder( "2.1000000000000000000", "3" );
+        checkVersionsEqual( "1.00000000000000000000000", "1" );
+        checkVersionsEqual( "1.0000000000000000000000001", "1.000001" );
+        checkVersionsEqual( "1.01", "1.1" );
+    }
 }
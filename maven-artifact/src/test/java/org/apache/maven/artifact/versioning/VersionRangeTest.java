@@ -727,4 +727,33 @@ public class VersionRangeTest
     {
         // assertTrue( new DefaultArtifactVersion( "1.0-alpha10" ).compareTo( new DefaultArtifactVersion( "1.0-alpha1" ) ) > 0 );
     }
+
+    public void testSharedInstances()
+        throws InvalidVersionSpecificationException
+    {
+        VersionRange range1 = VersionRange.createFromVersionSpec( "[1.0,2.0)" );
+        VersionRange range2 = VersionRange.createFromVersionSpec( "[1.5,3.0)" );
+        assertSame( range1, VersionRange.createFromVersionSpec( "[1.0,2.0)" ) );
+        assertSame( VersionRange.createFromVersion( "1.0" ), VersionRange.createFromVersion( "1.0" ) );
+
+        VersionRange restricted = range1.restrict( range2 );
+        assertEquals( "[1.5,2.0)", restricted.toString() );
+        assertSame( restricted, range1.restrict( range2 ) );
+        assertEquals( "[1.5,2.0)", range2.restrict( range1 ).toString() );
+
+        // equal but differently spelled recommended versions must not be mixed up
+        VersionRange soft = VersionRange.createFromVersionSpec( "1" );
+        assertEquals( "1", soft.restrict( range1 ).toString() );
+        assertEquals( "1.0", VersionRange.createFromVersionSpec( "1.0" ).restrict( range1 ).toString() );
+
+        try
+        {
+            range1.getRestrictions().clear();
+            fail( "restrictions of shared range are modifiable" );
+        }
+        catch ( UnsupportedOperationException e )
+        {
+            assertTrue( true );
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package org.apache.maven.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The entry point of the benchmark jar. Accepts the usual JMH command line but writes the results as JSON to
+ * {@code jmh-result.json} unless told otherwise (via {@code -rf} and {@code -rff}), so that runs can be trended.
+ */
+public class BenchmarkRunner
+{
+
+    public static void main( String[] args )
+        throws Exception
+    {
+        CommandLineOptions cli = new CommandLineOptions( args );
+
+        if ( cli.shouldHelp() || cli.shouldList() || cli.shouldListProfilers()
+            || cli.shouldListResultFormats() )
+        {
+            Main.main( args );
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent( cli );
+        if ( !cli.getResultFormat().hasValue() )
+        {
+            options.resultFormat( ResultFormatType.JSON );
+        }
+        if ( !cli.getResult().hasValue() )
+        {
+            options.result( "jmh-result.json" );
+        }
+
+        new Runner( options.build() ).run();
+    }
+
+}
@@ -0,0 +1,40 @@
+package org.apache.maven.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.model.InputLocation;
+import org.apache.maven.model.building.ModelProblem.Severity;
+import org.apache.maven.model.building.ModelProblemCollector;
+
+/**
+ * A problem collector that discards all problems, the benchmarks measure the processing and not its outcome.
+ */
+class IgnoringProblemCollector
+    implements ModelProblemCollector
+{
+
+    static final ModelProblemCollector INSTANCE = new IgnoringProblemCollector();
+
+    public void add( Severity severity, String message, InputLocation location, Exception cause )
+    {
+        // ignored
+    }
+
+}
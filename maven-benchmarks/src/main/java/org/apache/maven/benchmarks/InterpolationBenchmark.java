@@ -0,0 +1,167 @@
+package org.apache.maven.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.DefaultModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuildingRequest;
+import org.apache.maven.model.interpolation.CompiledModelInterpolator;
+import org.apache.maven.model.interpolation.ModelInterpolator;
+import org.apache.maven.model.interpolation.StringSearchModelInterpolator;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.model.path.DefaultPathTranslator;
+import org.apache.maven.model.path.DefaultUrlNormalizer;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the model interpolators on the POMs of the existing unit tests. Each invocation interpolates a fresh copy
+ * of every POM, the cost of copying the models is measured separately by {@link #copyOnly(Blackhole)}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class InterpolationBenchmark
+{
+
+    /**
+     * The directory to (recursively) read the POMs from, relative to the working directory.
+     */
+    @Param( { "../maven-model-builder/src/test/resources/poms" } )
+    public String pomDirectory;
+
+    @Param( { "string-search", "compiled" } )
+    public String interpolatorType;
+
+    private ModelInterpolator interpolator;
+
+    private List<Model> models;
+
+    private File projectDir;
+
+    private ModelBuildingRequest request;
+
+    @Setup
+    public void setUp()
+        throws Exception
+    {
+        if ( "compiled".equals( interpolatorType ) )
+        {
+            interpolator = new CompiledModelInterpolator().setPathTranslator( new DefaultPathTranslator() )
+                .setUrlNormalizer( new DefaultUrlNormalizer() );
+        }
+        else
+        {
+            interpolator = new StringSearchModelInterpolator().setPathTranslator( new DefaultPathTranslator() )
+                .setUrlNormalizer( new DefaultUrlNormalizer() );
+        }
+
+        File directory = new File( pomDirectory ).getAbsoluteFile();
+        models = new ArrayList<Model>();
+        readModels( directory, models );
+        if ( models.isEmpty() )
+        {
+            throw new IllegalStateException( "No POMs found in " + directory );
+        }
+
+        projectDir = directory;
+        request = new DefaultModelBuildingRequest();
+        request.setSystemProperties( System.getProperties() );
+    }
+
+    private static void readModels( File directory, List<Model> models )
+        throws Exception
+    {
+        File[] files = directory.listFiles();
+        if ( files == null )
+        {
+            return;
+        }
+
+        for ( File file : files )
+        {
+            if ( file.isDirectory() )
+            {
+                readModels( file, models );
+            }
+            else if ( file.getName().endsWith( ".xml" ) )
+            {
+                Reader reader = ReaderFactory.newXmlReader( file );
+                try
+                {
+                    models.add( new MavenXpp3Reader().read( reader, false ) );
+                }
+                finally
+                {
+                    IOUtil.close( reader );
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void copyOnly( Blackhole blackhole )
+    {
+        for ( Model model : models )
+        {
+            blackhole.consume( model.clone() );
+        }
+    }
+
+    @Benchmark
+    public void interpolate( Blackhole blackhole )
+    {
+        for ( Model model : models )
+        {
+            blackhole.consume( interpolator.interpolateModel( model.clone(), projectDir, request,
+                                                              IgnoringProblemCollector.INSTANCE ) );
+        }
+    }
+
+    @Benchmark
+    @Threads( 4 )
+    public void interpolateConcurrently( Blackhole blackhole )
+    {
+        interpolate( blackhole );
+    }
+
+}
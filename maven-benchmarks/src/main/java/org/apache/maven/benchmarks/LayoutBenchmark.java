@@ -0,0 +1,129 @@
+package org.apache.maven.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.layout.ArtifactRepositoryLayout;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the path calculations of the repository layout the way the dependency resolution of a reactor performs
+ * them: the dependencies of every module are looked up in the local repository and each of the remote repositories,
+ * both for their POM and their main artifact. The modules share most of their dependencies, so the same paths are
+ * requested over and over. The memoization of paths can be disabled to get the figures without it, e.g. via
+ * {@code -jvmArgsAppend -Dmaven.layoutCache.size=0}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class LayoutBenchmark
+{
+
+    private static final int GROUPS = 50;
+
+    private static final int ARTIFACTS_PER_GROUP = 10;
+
+    private static final int DEPENDENCIES_PER_MODULE = 40;
+
+    private static final int REPOSITORIES = 3;
+
+    /**
+     * The number of modules in the reactor.
+     */
+    @Param( { "10", "100" } )
+    public int modules;
+
+    private ArtifactRepositoryLayout layout;
+
+    private List<Artifact[]> dependencies;
+
+    @Setup
+    public void setUp()
+    {
+        layout = new DefaultRepositoryLayout();
+
+        ArtifactHandler jar = new DefaultArtifactHandler( "jar" );
+        ArtifactHandler pom = new DefaultArtifactHandler( "pom" );
+
+        List<Artifact[]> artifacts = new ArrayList<Artifact[]>();
+        for ( int g = 0; g < GROUPS; g++ )
+        {
+            String groupId = "org.example.group" + g + ".components";
+            for ( int a = 0; a < ARTIFACTS_PER_GROUP; a++ )
+            {
+                String artifactId = "component-" + a;
+                String version = ( a % 4 == 0 ) ? "1." + g + "-SNAPSHOT" : "1." + g + "." + a;
+                artifacts.add( new Artifact[] {
+                    new DefaultArtifact( groupId, artifactId, version, "compile", "pom", null, pom ),
+                    new DefaultArtifact( groupId, artifactId, version, "compile", "jar", null, jar ) } );
+            }
+        }
+
+        dependencies = new ArrayList<Artifact[]>();
+        for ( int m = 0; m < modules; m++ )
+        {
+            for ( int d = 0; d < DEPENDENCIES_PER_MODULE; d++ )
+            {
+                dependencies.add( artifacts.get( ( m * 7 + d * 13 ) % artifacts.size() ) );
+            }
+        }
+    }
+
+    /**
+     * Calculates the repository paths of the POMs and main artifacts of all module dependencies.
+     */
+    @Benchmark
+    public void resolveReactor( Blackhole blackhole )
+    {
+        for ( Artifact[] dependency : dependencies )
+        {
+            for ( int r = 0; r <= REPOSITORIES; r++ )
+            {
+                for ( Artifact artifact : dependency )
+                {
+                    blackhole.consume( layout.pathOf( artifact ) );
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,342 @@
+package org.apache.maven.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.DefaultModelBuilder;
+import org.apache.maven.model.building.DefaultModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.building.ModelBuildingRequest;
+import org.apache.maven.model.building.ModelCache;
+import org.apache.maven.model.inheritance.InheritanceAssembler;
+import org.apache.maven.model.interpolation.ModelInterpolator;
+import org.apache.maven.model.io.ModelReader;
+import org.apache.maven.model.validation.ModelValidator;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the stages of model building separately on a {@link SyntheticReactor}. Each benchmark processes the whole
+ * reactor once per invocation, so scores are directly comparable across stages for the same reactor dimensions. The
+ * stages that modify their input work on copies of the models, the cost of copying is measured by
+ * {@link #copyLineages(Blackhole)}. The benchmarks that interpolate are run once per interpolator, see
+ * {@link InterpolatorSelection}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 2 )
+@Measurement( iterations = 10, time = 2 )
+@Fork( 1 )
+public class ModelBuildingBenchmark
+{
+
+    /**
+     * The number of modules per aggregator.
+     */
+    @Param( { "4" } )
+    public int width;
+
+    /**
+     * The number of aggregator levels below the root.
+     */
+    @Param( { "3" } )
+    public int depth;
+
+    private DefaultPlexusContainer container;
+
+    private SyntheticReactor reactor;
+
+    private ModelBuilder modelBuilder;
+
+    private ModelReader modelReader;
+
+    private InheritanceAssembler inheritanceAssembler;
+
+    private Map<String, ModelInterpolator> modelInterpolators;
+
+    private ModelValidator modelValidator;
+
+    private ModelBuildingRequest request;
+
+    private List<List<Model>> rawLineages;
+
+    private List<Model> assembledModels;
+
+    private List<Model> effectiveModels;
+
+    @Setup
+    public void setUp()
+        throws Exception
+    {
+        File basedir = File.createTempFile( "reactor", "" );
+        basedir.delete();
+        reactor = new SyntheticReactor( basedir, width, depth );
+
+        container = new DefaultPlexusContainer();
+        modelBuilder = container.lookup( ModelBuilder.class );
+        modelReader = container.lookup( ModelReader.class );
+        inheritanceAssembler = container.lookup( InheritanceAssembler.class );
+        modelInterpolators = new HashMap<String, ModelInterpolator>();
+        modelInterpolators.put( "default", container.lookup( ModelInterpolator.class ) );
+        modelInterpolators.put( "compiled", container.lookup( ModelInterpolator.class, "compiled" ) );
+        modelValidator = container.lookup( ModelValidator.class );
+
+        request = newRequest( null );
+
+        Map<File, Model> rawModels = new HashMap<File, Model>();
+        for ( File pomFile : reactor.getPomFiles() )
+        {
+            rawModels.put( pomFile, readModel( pomFile ) );
+        }
+
+        rawLineages = new ArrayList<List<Model>>();
+        for ( List<File> lineage : reactor.getLineages() )
+        {
+            List<Model> models = new ArrayList<Model>();
+            for ( File pomFile : lineage )
+            {
+                models.add( rawModels.get( pomFile ) );
+            }
+            rawLineages.add( models );
+        }
+
+        assembledModels = new ArrayList<Model>();
+        for ( List<Model> lineage : rawLineages )
+        {
+            assembledModels.add( assemble( lineage ) );
+        }
+
+        effectiveModels = new ArrayList<Model>();
+        ModelCache modelCache = new SimpleModelCache();
+        for ( File pomFile : reactor.getPomFiles() )
+        {
+            effectiveModels.add( modelBuilder.build( newRequest( pomFile ).setModelCache( modelCache ) )
+                .getEffectiveModel() );
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+        throws Exception
+    {
+        container.dispose();
+        reactor.delete();
+    }
+
+    private static ModelBuildingRequest newRequest( File pomFile )
+    {
+        ModelBuildingRequest request = new DefaultModelBuildingRequest();
+        request.setPomFile( pomFile );
+        request.setValidationLevel( ModelBuildingRequest.VALIDATION_LEVEL_MAVEN_3_0 );
+        request.setProcessPlugins( false );
+        request.setLocationTracking( true );
+        request.setSystemProperties( System.getProperties() );
+        return request;
+    }
+
+    private Model readModel( File pomFile )
+        throws Exception
+    {
+        Map<String, Object> options = new HashMap<String, Object>();
+        options.put( ModelReader.IS_STRICT, Boolean.TRUE );
+        Model model = modelReader.read( pomFile, options );
+        model.setPomFile( pomFile );
+        return model;
+    }
+
+    private List<Model> copy( List<Model> lineage )
+    {
+        List<Model> copies = new ArrayList<Model>( lineage.size() );
+        for ( Model model : lineage )
+        {
+            copies.add( model.clone() );
+        }
+        return copies;
+    }
+
+    private Model assemble( List<Model> lineage )
+    {
+        List<Model> copies = copy( lineage );
+        for ( int i = 1; i < copies.size(); i++ )
+        {
+            inheritanceAssembler.assembleModelInheritance( copies.get( i ), copies.get( i - 1 ), request,
+                                                           IgnoringProblemCollector.INSTANCE );
+        }
+        return copies.get( copies.size() - 1 );
+    }
+
+    /**
+     * Parses the POMs of the reactor.
+     */
+    @Benchmark
+    public void readRawModels( Blackhole blackhole )
+        throws Exception
+    {
+        for ( File pomFile : reactor.getPomFiles() )
+        {
+            blackhole.consume( readModel( pomFile ) );
+        }
+    }
+
+    /**
+     * Builds the effective models of the reactor like the project builder does, i.e. sharing a model cache.
+     */
+    @Benchmark
+    public void buildEffectiveModels( InterpolatorSelection selection, Blackhole blackhole )
+        throws Exception
+    {
+        ModelCache modelCache = new SimpleModelCache();
+        for ( File pomFile : reactor.getPomFiles() )
+        {
+            ModelBuildingRequest buildingRequest =
+                newRequest( pomFile ).setUserProperties( selection.userProperties ).setModelCache( modelCache );
+            blackhole.consume( modelBuilder.build( buildingRequest ) );
+        }
+    }
+
+    /**
+     * The baseline for the benchmarks working on copies of the models.
+     */
+    @Benchmark
+    public void copyLineages( Blackhole blackhole )
+    {
+        for ( List<Model> lineage : rawLineages )
+        {
+            blackhole.consume( copy( lineage ) );
+        }
+    }
+
+    /**
+     * Assembles the inheritance of each lineage, from the root down.
+     */
+    @Benchmark
+    public void assembleInheritance( Blackhole blackhole )
+    {
+        for ( List<Model> lineage : rawLineages )
+        {
+            blackhole.consume( assemble( lineage ) );
+        }
+    }
+
+    /**
+     * Interpolates copies of the inheritance-assembled models.
+     */
+    @Benchmark
+    public void interpolate( InterpolatorSelection selection, Blackhole blackhole )
+    {
+        ModelInterpolator modelInterpolator = modelInterpolators.get( selection.interpolator );
+        for ( Model model : assembledModels )
+        {
+            Model copy = model.clone();
+            blackhole.consume( modelInterpolator.interpolateModel( copy, copy.getProjectDirectory(), request,
+                                                                   IgnoringProblemCollector.INSTANCE ) );
+        }
+    }
+
+    /**
+     * Validates the raw and effective models.
+     */
+    @Benchmark
+    public void validate()
+    {
+        for ( List<Model> lineage : rawLineages )
+        {
+            modelValidator.validateRawModel( lineage.get( lineage.size() - 1 ), request,
+                                             IgnoringProblemCollector.INSTANCE );
+        }
+        for ( Model model : effectiveModels )
+        {
+            modelValidator.validateEffectiveModel( model, request, IgnoringProblemCollector.INSTANCE );
+        }
+    }
+
+    /**
+     * Selects the model interpolator. It is a separate state such that only the benchmarks that interpolate are run
+     * once per interpolator.
+     */
+    @State( Scope.Benchmark )
+    public static class InterpolatorSelection
+    {
+
+        /**
+         * The role hint of the model interpolator to use.
+         */
+        @Param( { "default", "compiled" } )
+        public String interpolator;
+
+        /**
+         * The user properties that make the model builder use the selected interpolator.
+         */
+        Properties userProperties;
+
+        @Setup
+        public void setUp()
+        {
+            userProperties = new Properties();
+            userProperties.setProperty( DefaultModelBuilder.COMPILED_INTERPOLATION_PROPERTY,
+                                        String.valueOf( "compiled".equals( interpolator ) ) );
+        }
+
+    }
+
+    /**
+     * A reactor-scoped model cache, similar to the one of the project builder.
+     */
+    static class SimpleModelCache
+        implements ModelCache
+    {
+
+        private final Map<String, Object> data = Collections.synchronizedMap( new HashMap<String, Object>() );
+
+        public Object get( String groupId, String artifactId, String version, String tag )
+        {
+            return data.get( groupId + ':' + artifactId + ':' + version + ':' + tag );
+        }
+
+        public void put( String groupId, String artifactId, String version, String tag, Object value )
+        {
+            data.put( groupId + ':' + artifactId + ':' + version + ':' + tag, value );
+        }
+
+    }
+
+}
@@ -0,0 +1,297 @@
+package org.apache.maven.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.model.Resource;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.WriterFactory;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * Generates a reactor of POMs on disk. The reactor is a tree of aggregators that are also the parents of their
+ * modules: the root has {@code width} modules, each of which has {@code width} modules again and so on, down to
+ * {@code depth} levels below the root where the leaves are jar projects. The root carries the dependency and plugin
+ * management, every level adds properties and the leaves use expressions, managed dependencies and inter-module
+ * dependencies, i.e. the usual ingredients that make model building expensive.
+ */
+public class SyntheticReactor
+{
+
+    private static final String GROUP_ID = "org.apache.maven.benchmarks.synthetic";
+
+    private static final String VERSION = "1.0-SNAPSHOT";
+
+    private static final int MANAGED_DEPENDENCIES = 20;
+
+    private final File basedir;
+
+    private final List<File> pomFiles = new ArrayList<File>();
+
+    private final List<List<File>> lineages = new ArrayList<List<File>>();
+
+    /**
+     * Generates a new reactor.
+     *
+     * @param basedir The directory to generate the reactor in, must not be {@code null}.
+     * @param width The number of modules per aggregator, must be positive.
+     * @param depth The number of levels below the root, must not be negative.
+     * @throws IOException If the POMs could not be written.
+     */
+    public SyntheticReactor( File basedir, int width, int depth )
+        throws IOException
+    {
+        if ( width <= 0 || depth < 0 )
+        {
+            throw new IllegalArgumentException( "invalid reactor dimensions " + width + "x" + depth );
+        }
+
+        this.basedir = basedir.getAbsoluteFile();
+
+        generate( this.basedir, "root", null, width, depth, new ArrayList<File>() );
+    }
+
+    /**
+     * Gets the POM files of the reactor, parents before their modules.
+     *
+     * @return The POM files, never {@code null}.
+     */
+    public List<File> getPomFiles()
+    {
+        return Collections.unmodifiableList( pomFiles );
+    }
+
+    /**
+     * Gets the lineages of the POMs, i.e. for each POM of {@link #getPomFiles()} the list of POM files from the root
+     * down to the POM itself.
+     *
+     * @return The lineages, never {@code null}.
+     */
+    public List<List<File>> getLineages()
+    {
+        return Collections.unmodifiableList( lineages );
+    }
+
+    /**
+     * Deletes the generated reactor.
+     *
+     * @throws IOException If the reactor could not be deleted.
+     */
+    public void delete()
+        throws IOException
+    {
+        FileUtils.deleteDirectory( basedir );
+    }
+
+    private void generate( File dir, String artifactId, String parentArtifactId, int width, int depth,
+                           List<File> ancestors )
+        throws IOException
+    {
+        List<String> modules = new ArrayList<String>();
+        if ( depth > 0 )
+        {
+            for ( int i = 0; i < width; i++ )
+            {
+                modules.add( artifactId + '-' + i );
+            }
+        }
+
+        Model model = ( parentArtifactId == null ) ? newRoot() : newModule( parentArtifactId, depth <= 0 );
+        model.setArtifactId( artifactId );
+        model.setModules( modules );
+        model.getProperties().setProperty( artifactId + ".level", String.valueOf( ancestors.size() ) );
+
+        if ( depth <= 0 )
+        {
+            addLeafContent( model, artifactId );
+        }
+
+        File pomFile = new File( dir, "pom.xml" );
+        write( pomFile, model );
+
+        List<File> lineage = new ArrayList<File>( ancestors );
+        lineage.add( pomFile );
+        pomFiles.add( pomFile );
+        lineages.add( lineage );
+
+        for ( String module : modules )
+        {
+            generate( new File( dir, module ), module, artifactId, width, depth - 1, lineage );
+        }
+    }
+
+    private static Model newRoot()
+    {
+        Model model = new Model();
+        model.setModelVersion( "4.0.0" );
+        model.setGroupId( GROUP_ID );
+        model.setVersion( VERSION );
+        model.setPackaging( "pom" );
+        model.setName( "Synthetic ${project.artifactId}" );
+        model.setUrl( "http://maven.apache.org/benchmarks/" );
+        model.setDescription( "A generated project at ${project.basedir} built at ${maven.build.timestamp}" );
+
+        model.getProperties().setProperty( "project.build.sourceEncoding", "UTF-8" );
+        model.getProperties().setProperty( "lib.version", "2.${lib.minor}" );
+        model.getProperties().setProperty( "lib.minor", "5" );
+
+        DependencyManagement dependencyManagement = new DependencyManagement();
+        for ( int i = 0; i < MANAGED_DEPENDENCIES; i++ )
+        {
+            Dependency dependency = new Dependency();
+            dependency.setGroupId( "org.example.lib" );
+            dependency.setArtifactId( "lib-" + i );
+            dependency.setVersion( "${lib.version}" );
+            if ( i % 5 == 0 )
+            {
+                dependency.setScope( "test" );
+            }
+            dependencyManagement.addDependency( dependency );
+        }
+        model.setDependencyManagement( dependencyManagement );
+
+        Build build = new Build();
+        PluginManagement pluginManagement = new PluginManagement();
+        Plugin compiler = new Plugin();
+        compiler.setArtifactId( "maven-compiler-plugin" );
+        compiler.setVersion( "2.1" );
+        compiler.setConfiguration( newConfiguration( "source", "1.5", "target", "1.5", "encoding",
+                                                     "${project.build.sourceEncoding}" ) );
+        pluginManagement.addPlugin( compiler );
+        Plugin surefire = new Plugin();
+        surefire.setArtifactId( "maven-surefire-plugin" );
+        surefire.setVersion( "2.4.3" );
+        surefire.setConfiguration( newConfiguration( "reportsDirectory", "${project.build.directory}/reports" ) );
+        pluginManagement.addPlugin( surefire );
+        build.setPluginManagement( pluginManagement );
+        model.setBuild( build );
+
+        return model;
+    }
+
+    private static Model newModule( String parentArtifactId, boolean leaf )
+    {
+        Parent parent = new Parent();
+        parent.setGroupId( GROUP_ID );
+        parent.setArtifactId( parentArtifactId );
+        parent.setVersion( VERSION );
+
+        Model model = new Model();
+        model.setModelVersion( "4.0.0" );
+        model.setParent( parent );
+        model.setPackaging( leaf ? "jar" : "pom" );
+        return model;
+    }
+
+    private static void addLeafContent( Model model, String artifactId )
+    {
+        int hash = Math.abs( artifactId.hashCode() );
+
+        for ( int i = 0; i < MANAGED_DEPENDENCIES / 2; i++ )
+        {
+            Dependency dependency = new Dependency();
+            dependency.setGroupId( "org.example.lib" );
+            dependency.setArtifactId( "lib-" + ( ( hash + i * 3 ) % MANAGED_DEPENDENCIES ) );
+            model.addDependency( dependency );
+        }
+
+        // depend on the preceding sibling, if any, to get inter-module dependencies
+        int index = artifactId.lastIndexOf( '-' );
+        int ordinal = Integer.parseInt( artifactId.substring( index + 1 ) );
+        if ( ordinal > 0 )
+        {
+            Dependency dependency = new Dependency();
+            dependency.setGroupId( "${project.groupId}" );
+            dependency.setArtifactId( artifactId.substring( 0, index + 1 ) + ( ordinal - 1 ) );
+            dependency.setVersion( "${project.version}" );
+            model.addDependency( dependency );
+        }
+
+        Build build = new Build();
+        build.setFinalName( "${project.artifactId}-${project.version}" );
+        Resource resource = new Resource();
+        resource.setDirectory( "src/main/resources" );
+        resource.setFiltering( true );
+        build.addResource( resource );
+
+        Plugin compiler = new Plugin();
+        compiler.setArtifactId( "maven-compiler-plugin" );
+        compiler.setConfiguration( newConfiguration( "showWarnings", "true" ) );
+        build.addPlugin( compiler );
+
+        Plugin antrun = new Plugin();
+        antrun.setArtifactId( "maven-antrun-plugin" );
+        antrun.setVersion( "1.3" );
+        PluginExecution execution = new PluginExecution();
+        execution.setId( "echo" );
+        execution.setPhase( "generate-resources" );
+        execution.addGoal( "run" );
+        execution.setConfiguration( newConfiguration( "tasks", "${" + artifactId + ".level} ${basedir}" ) );
+        antrun.addExecution( execution );
+        build.addPlugin( antrun );
+
+        model.setBuild( build );
+    }
+
+    private static Xpp3Dom newConfiguration( String... keyValues )
+    {
+        Xpp3Dom configuration = new Xpp3Dom( "configuration" );
+        for ( int i = 0; i < keyValues.length; i += 2 )
+        {
+            Xpp3Dom child = new Xpp3Dom( keyValues[i] );
+            child.setValue( keyValues[i + 1] );
+            configuration.addChild( child );
+        }
+        return configuration;
+    }
+
+    private static void write( File pomFile, Model model )
+        throws IOException
+    {
+        pomFile.getParentFile().mkdirs();
+
+        Writer writer = WriterFactory.newXmlWriter( pomFile );
+        try
+        {
+            new MavenXpp3Writer().write( writer, model );
+        }
+        finally
+        {
+            IOUtil.close( writer );
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package org.apache.maven.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures parsing and comparing versions on a corpus of version strings as found in Maven Central. The cache of
+ * parsed versions can be disabled to get the figures without it, e.g. via
+ * {@code -jvmArgsAppend -Dmaven.versionCache.size=0}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class VersionBenchmark
+{
+
+    private static final String[] CORPUS =
+        { "1", "1.0", "1.0.0", "1.0.1", "1.1", "1.2.3", "2.0", "2.0-beta-1", "2.0-alpha-3", "2.0-rc1", "2.0.0-RC2",
+            "2.0-SNAPSHOT", "2.0.1-SNAPSHOT", "3.0-20090718.123456-1", "1.0-M1", "1.0-m2", "1.0-milestone-3",
+            "2.5.6.SEC01", "3.0.0.RELEASE", "3.0.5.RELEASE", "4.0.0.M3", "1.2.14", "1.2.15", "1.2.16", "1.4",
+            "1.4.01", "2.4", "2.5", "2.6", "3.8.1", "3.8.2", "4.4", "4.5", "4.7", "4.8.1", "1.5.8", "1.6.0",
+            "1.6.1", "1.0-beta-2", "1.0-alpha-9-stable-1", "1.0b3", "1.0a1", "1.0rc3", "2.2.1", "2.3.2", "2.4.3",
+            "1.0.0-beta-1-SNAPSHOT", "1.1.1-final", "3.3.1.GA", "3.2.0.Final", "3.5.0-Final", "5.0.1-sp1",
+            "2.1_3", "1.0-jdk5", "2.0.0-jdk15", "1.8.0_20", "20030911", "20041127.091804", "0.9.1", "0.9.29",
+            "1.7.0-RC1", "10.5.3.0_1", "11.0.2", "r09", "r03", "1.0.0.v20090226", "3.4.0.v20080603-2000",
+            "1.0.0-alpha-20091020.1234-12", "9999-SNAPSHOT", "1.0-20050101.000000-1", "1.0.2.Final-redhat-1" };
+
+    private ComparableVersion[] versions;
+
+    @Setup
+    public void setUp()
+    {
+        versions = new ComparableVersion[CORPUS.length];
+        for ( int i = 0; i < CORPUS.length; i++ )
+        {
+            versions[i] = new ComparableVersion( CORPUS[i] );
+        }
+    }
+
+    /**
+     * Parses every version of the corpus.
+     */
+    @Benchmark
+    public void parse( Blackhole blackhole )
+    {
+        for ( String version : CORPUS )
+        {
+            blackhole.consume( new ComparableVersion( version ) );
+        }
+    }
+
+    /**
+     * Parses every version of the corpus as an artifact version, which also extracts the version components.
+     */
+    @Benchmark
+    public void parseArtifactVersion( Blackhole blackhole )
+    {
+        for ( String version : CORPUS )
+        {
+            blackhole.consume( new DefaultArtifactVersion( version ) );
+        }
+    }
+
+    /**
+     * Compares every pair of versions from the corpus.
+     */
+    @Benchmark
+    public int compare()
+    {
+        int result = 0;
+        for ( ComparableVersion left : versions )
+        {
+            for ( ComparableVersion right : versions )
+            {
+                result += left.compareTo( right );
+            }
+        }
+        return result;
+    }
+
+}
@@ -20,7 +20,11 @@ package org.apache.maven.artifact.installer;
  */
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.metadata.ArtifactMetadata;
@@ -34,7 +38,7 @@ import org.apache.maven.repository.legacy.resolver.transform.ArtifactTransformat
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.AbstractLogEnabled;
-import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
 
 /**
  * @author Jason van Zyl
@@ -44,6 +48,11 @@ public class DefaultArtifactInstaller
     extends AbstractLogEnabled
     implements ArtifactInstaller
 {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Some platforms choke on too large transfers, e.g. Windows fails for more than 64 MB at once. */
+    private static final long MAX_TRANSFER_SIZE = 32 * 1024 * 1024;
+
     @Requirement
     private ArtifactTransformationManager transformationManager;
 
@@ -84,16 +93,24 @@ public class DefaultArtifactInstaller
                 !destination.exists() || "pom".equals( artifact.getType() )
                     || source.lastModified() != destination.lastModified() || source.length() != destination.length();
 
-            if ( copy )
+            if ( !copy )
             {
-                getLogger().info( "Installing " + source + " to " + destination );
+                getLogger().info( "Skipped re-installing " + source + " to " + destination + ", seems unchanged" );
+            }
+            else if ( destination.isFile() && source.length() == destination.length()
+                && contentEquals( source, destination ) )
+            {
+                getLogger().info( "Skipped re-installing " + source + " to " + destination + ", content unchanged" );
 
-                FileUtils.copyFile( source, destination );
+                // sync the timestamp so that the next installation can tell the files are the same without reading
                 destination.setLastModified( source.lastModified() );
             }
             else
             {
-                getLogger().info( "Skipped re-installing " + source + " to " + destination + ", seems unchanged" );
+                getLogger().info( "Installing " + source + " to " + destination );
+
+                copyFile( source, destination );
+                destination.setLastModified( source.lastModified() );
             }
 
             // must be after the artifact is installed
@@ -122,4 +139,102 @@ public class DefaultArtifactInstaller
             throw new ArtifactInstallationException( "Error installing artifact's metadata: " + e.getMessage(), e );
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Copies the file using {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} which
+     * allows the OS to move the bytes without passing them through the JVM.
+     */
+    private static void copyFile( File source, File destination )
+        throws IOException
+    {
+        FileInputStream in = new FileInputStream( source );
+        FileOutputStream out = null;
+        try
+        {
+            out = new FileOutputStream( destination );
+
+            FileChannel sourceChannel = in.getChannel();
+            FileChannel destinationChannel = out.getChannel();
+
+            long size = sourceChannel.size();
+            for ( long position = 0; position < size; )
+            {
+                long transferred =
+                    sourceChannel.transferTo( position, Math.min( size - position, MAX_TRANSFER_SIZE ),
+                                              destinationChannel );
+                if ( transferred <= 0 )
+                {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+        finally
+        {
+            IOUtil.close( out );
+            IOUtil.close( in );
+        }
+
+        if ( source.length() != destination.length() )
+        {
+            throw new IOException( "Failed to copy full contents from " + source + " to " + destination );
+        }
+    }
+
+    private static boolean contentEquals( File file1, File file2 )
+        throws IOException
+    {
+        FileInputStream in1 = new FileInputStream( file1 );
+        FileInputStream in2 = null;
+        try
+        {
+            in2 = new FileInputStream( file2 );
+
+            FileChannel channel1 = in1.getChannel();
+            FileChannel channel2 = in2.getChannel();
+
+            ByteBuffer buffer1 = ByteBuffer.allocate( BUFFER_SIZE );
+            ByteBuffer buffer2 = ByteBuffer.allocate( BUFFER_SIZE );
+
+            while ( true )
+            {
+                buffer1.clear();
+                buffer2.clear();
+
+                int read = fill( channel1, buffer1 );
+                if ( read != fill( channel2, buffer2 ) )
+                {
+                    return false;
+                }
+                if ( read <= 0 )
+                {
+                    return true;
+                }
+
+                buffer1.flip();
+                buffer2.flip();
+
+                if ( !buffer1.equals( buffer2 ) )
+                {
+                    return false;
+                }
+            }
+        }
+        finally
+        {
+            IOUtil.close( in2 );
+            IOUtil.close( in1 );
+        }
+    }
+
+    private static int fill( FileChannel channel, ByteBuffer buffer )
+        throws IOException
+    {
+        while ( buffer.hasRemaining() && channel.read( buffer ) >= 0 )
+        {
+            // keep reading until the buffer is full or the end of the file is reached
+        }
+        return buffer.position();
+    }
+
+}
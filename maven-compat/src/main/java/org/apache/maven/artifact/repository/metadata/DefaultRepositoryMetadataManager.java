@@ -60,6 +60,9 @@ public class DefaultRepositoryMetadataManager
     @Requirement
     private UpdateCheckManager updateCheckManager;
 
+    private final MetadataFileCache metadataFileCache =
+        new MetadataFileCache( Integer.getInteger( "maven.metadataFileCache.size", 2048 ).intValue() );
+
     public void resolve( RepositoryMetadata metadata, List<ArtifactRepository> remoteRepositories,
                          ArtifactRepository localRepository )
         throws RepositoryMetadataResolutionException
@@ -194,7 +197,12 @@ public class DefaultRepositoryMetadataManager
                 // touch file so that this is not checked again until interval has passed
                 if ( file.exists() )
                 {
-                    file.setLastModified( System.currentTimeMillis() );
+                    long length = file.length();
+                    long lastModified = file.lastModified();
+                    if ( file.setLastModified( System.currentTimeMillis() ) )
+                    {
+                        metadataFileCache.touched( file, length, lastModified, file.lastModified() );
+                    }
                 }
             }
         }
@@ -430,7 +438,7 @@ public class DefaultRepositoryMetadataManager
 
             try
             {
-                metadata = readMetadata( metadataFile );
+                metadata = readCachedMetadata( metadataFile );
             }
             catch ( RepositoryMetadataReadException e )
             {
@@ -463,6 +471,28 @@ public class DefaultRepositoryMetadataManager
         return setRepository;
     }
 
+    /**
+     * Reads the specified metadata file unless its contents are already known from a previous read, which spares
+     * parsing the same files over and over again during snapshot-heavy builds.
+     */
+    private Metadata readCachedMetadata( File metadataFile )
+        throws RepositoryMetadataReadException
+    {
+        long length = metadataFile.length();
+        long lastModified = metadataFile.lastModified();
+
+        Metadata metadata = metadataFileCache.get( metadataFile, length, lastModified );
+
+        if ( metadata == null )
+        {
+            metadata = readMetadata( metadataFile );
+
+            metadataFileCache.put( metadataFile, length, lastModified, metadata );
+        }
+
+        return metadata;
+    }
+
     /** @todo share with DefaultPluginMappingManager. */
     protected Metadata readMetadata( File mappingFile )
         throws RepositoryMetadataReadException
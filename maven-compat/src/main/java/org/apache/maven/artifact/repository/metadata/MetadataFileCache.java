@@ -0,0 +1,116 @@
+package org.apache.maven.artifact.repository.metadata;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+import java.io.File;
+
+import org.apache.maven.artifact.internal.BoundedCache;
+
+/**
+ * Caches the parsed contents of metadata files from the local repository. An entry is only used as long as the size
+ * and timestamp of its file are unchanged, so metadata files that are updated or rewritten are parsed again. The cached
+ * metadata is never handed out directly but only as a copy, callers are free to merge into it.
+ */
+class MetadataFileCache
+{
+
+    private final BoundedCache<File, Record> records;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize The maximum number of cached files, a non-positive value disables the cache.
+     */
+    public MetadataFileCache( int maxSize )
+    {
+        records = new BoundedCache<File, Record>( maxSize );
+    }
+
+    /**
+     * Gets a copy of the cached metadata for the specified file.
+     *
+     * @param file The metadata file, must not be {@code null}.
+     * @param length The current size of the file.
+     * @param lastModified The current timestamp of the file.
+     * @return A copy of the cached metadata or {@code null} if the file is not cached or has changed since.
+     */
+    public Metadata get( File file, long length, long lastModified )
+    {
+        Record record = records.get( file );
+
+        if ( record == null || record.length != length || record.lastModified != lastModified )
+        {
+            return null;
+        }
+
+        return MetadataUtils.cloneMetadata( record.metadata );
+    }
+
+    /**
+     * Caches a copy of the metadata parsed from the specified file.
+     *
+     * @param file The metadata file, must not be {@code null}.
+     * @param length The size of the file before it was parsed.
+     * @param lastModified The timestamp of the file before it was parsed.
+     * @param metadata The parsed metadata, must not be {@code null}.
+     */
+    public void put( File file, long length, long lastModified, Metadata metadata )
+    {
+        if ( lastModified == 0 )
+        {
+            return;
+        }
+
+        records.put( file, new Record( length, lastModified, MetadataUtils.cloneMetadata( metadata ) ) );
+    }
+
+    /**
+     * Updates the timestamp of a cached file after it was touched without changing its contents.
+     *
+     * @param file The metadata file, must not be {@code null}.
+     * @param length The size of the file.
+     * @param oldLastModified The timestamp of the file before it was touched.
+     * @param newLastModified The timestamp of the file after it was touched.
+     */
+    public void touched( File file, long length, long oldLastModified, long newLastModified )
+    {
+        Record record = records.get( file );
+
+        if ( record != null && record.length == length && record.lastModified == oldLastModified )
+        {
+            records.put( file, new Record( length, newLastModified, record.metadata ) );
+        }
+    }
+
+    private static final class Record
+    {
+
+        final long length;
+
+        final long lastModified;
+
+        final Metadata metadata;
+
+        Record( long length, long lastModified, Metadata metadata )
+        {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.metadata = metadata;
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+package org.apache.maven.repository.legacy;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.maven.wagon.events.TransferEvent;
+import org.apache.maven.wagon.events.TransferListener;
+
+/**
+ * Calculates the checksums of a transferred file for several algorithms at once. Unlike one
+ * {@link org.apache.maven.wagon.observers.ChecksumObserver} per algorithm, each chunk of data is handed to all digests
+ * in a single callback while it is still hot in the CPU cache.
+ */
+class ChecksumCalculator
+    implements TransferListener
+{
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final String[] algorithms;
+
+    private final MessageDigest[] digests;
+
+    private final String[] checksums;
+
+    /**
+     * Creates a new calculator for the specified algorithms.
+     *
+     * @param algorithms The names of the digest algorithms, e.g. "SHA-1", must not be {@code null}.
+     * @throws NoSuchAlgorithmException If any of the algorithms is not supported by the JRE.
+     */
+    public ChecksumCalculator( String... algorithms )
+        throws NoSuchAlgorithmException
+    {
+        this.algorithms = algorithms.clone();
+        this.digests = new MessageDigest[algorithms.length];
+        this.checksums = new String[algorithms.length];
+
+        for ( int i = 0; i < algorithms.length; i++ )
+        {
+            digests[i] = MessageDigest.getInstance( algorithms[i] );
+        }
+    }
+
+    /**
+     * Gets the checksum of the last completed transfer.
+     *
+     * @param algorithm The name of the digest algorithm as given to the constructor, must not be {@code null}.
+     * @return The hex-encoded checksum or {@code null} if no transfer has been completed.
+     */
+    public String getActualChecksum( String algorithm )
+    {
+        for ( int i = 0; i < algorithms.length; i++ )
+        {
+            if ( algorithms[i].equals( algorithm ) )
+            {
+                return checksums[i];
+            }
+        }
+
+        throw new IllegalArgumentException( "Checksum algorithm " + algorithm + " was not calculated" );
+    }
+
+    public void transferInitiated( TransferEvent transferEvent )
+    {
+        // noop
+    }
+
+    public void transferStarted( TransferEvent transferEvent )
+    {
+        reset();
+    }
+
+    public void transferProgress( TransferEvent transferEvent, byte[] buffer, int length )
+    {
+        for ( MessageDigest digest : digests )
+        {
+            digest.update( buffer, 0, length );
+        }
+    }
+
+    public void transferCompleted( TransferEvent transferEvent )
+    {
+        for ( int i = 0; i < digests.length; i++ )
+        {
+            checksums[i] = encode( digests[i].digest() );
+        }
+    }
+
+    public void transferError( TransferEvent transferEvent )
+    {
+        reset();
+    }
+
+    public void debug( String message )
+    {
+        // noop
+    }
+
+    private void reset()
+    {
+        for ( int i = 0; i < digests.length; i++ )
+        {
+            digests[i].reset();
+            checksums[i] = null;
+        }
+    }
+
+    static String encode( byte[] bytes )
+    {
+        char[] chars = new char[bytes.length * 2];
+
+        for ( int i = 0; i < bytes.length; i++ )
+        {
+            chars[i * 2] = HEX_DIGITS[( bytes[i] >> 4 ) & 0x0F];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0F];
+        }
+
+        return new String( chars );
+    }
+
+}
@@ -278,6 +278,8 @@ public class DefaultUpdateCheckManager
 
                 channel.position( 0 );
                 channel.write( buffer );
+                // the previous contents might have been longer, e.g. when an error has been removed
+                channel.truncate( data.length );
             }
             catch ( IOException e )
             {
@@ -23,14 +23,23 @@ import java.io.File;
 import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.metadata.ArtifactMetadata;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.LegacySupport;
 import org.apache.maven.wagon.ConnectionException;
 import org.apache.maven.wagon.ResourceDoesNotExistException;
 import org.apache.maven.wagon.TransferFailedException;
@@ -40,7 +49,6 @@ import org.apache.maven.wagon.authentication.AuthenticationException;
 import org.apache.maven.wagon.authentication.AuthenticationInfo;
 import org.apache.maven.wagon.authorization.AuthorizationException;
 import org.apache.maven.wagon.events.TransferListener;
-import org.apache.maven.wagon.observers.ChecksumObserver;
 import org.apache.maven.wagon.proxy.ProxyInfo;
 import org.apache.maven.wagon.repository.Repository;
 import org.codehaus.plexus.PlexusContainer;
@@ -72,6 +80,16 @@ public class DefaultWagonManager
     @Requirement
     private UpdateCheckManager updateCheckManager;
 
+    @Requirement
+    private LegacySupport legacySupport;
+
+    /**
+     * The user property that enables the concurrent probing of all remote repositories for an artifact.
+     */
+    static final String REPOSITORY_RACE_PROPERTY = "maven3.repositoryRace";
+
+    private ExecutorService probeExecutor;
+
     //
     // Retriever
     //
@@ -145,43 +163,66 @@ public class DefaultWagonManager
     {
         TransferFailedException tfe = null;
 
-        for ( ArtifactRepository repository : remoteRepositories )
+        Map<ArtifactRepository, Future<Boolean>> probes = probeRepositories( artifact, remoteRepositories, force );
+
+        try
         {
-            try
+            for ( ArtifactRepository repository : remoteRepositories )
             {
-                getArtifact( artifact, repository, downloadMonitor, force );
-
-                if ( artifact.isResolved() )
+                try
                 {
-                    artifact.setRepository( repository );
-                    break;
-                }
-            }
-            catch ( ResourceDoesNotExistException e )
-            {
-                // This one we will eat when looking through remote repositories
-                // because we want to cycle through them all before squawking.
+                    if ( !isAvailable( probes.get( repository ), artifact, repository ) )
+                    {
+                        updateCheckManager.touch( artifact, repository, null );
 
-                logger.debug( "Unable to find artifact " + artifact.getId() + " in repository " + repository.getId()
-                    + " (" + repository.getUrl() + ")", e );
-            }
-            catch ( TransferFailedException e )
-            {
-                tfe = e;
+                        logger.debug( "Unable to find artifact " + artifact.getId() + " in repository "
+                            + repository.getId() + " (" + repository.getUrl() + ")" );
+
+                        continue;
+                    }
 
-                String msg =
-                    "Unable to get artifact " + artifact.getId() + " from repository " + repository.getId() + " ("
-                        + repository.getUrl() + "): " + e.getMessage();
-                if ( logger.isDebugEnabled() )
+                    getArtifact( artifact, repository, downloadMonitor, force );
+
+                    if ( artifact.isResolved() )
+                    {
+                        artifact.setRepository( repository );
+                        break;
+                    }
+                }
+                catch ( ResourceDoesNotExistException e )
                 {
-                    logger.warn( msg, e );
+                    // This one we will eat when looking through remote repositories
+                    // because we want to cycle through them all before squawking.
+
+                    logger.debug( "Unable to find artifact " + artifact.getId() + " in repository "
+                        + repository.getId() + " (" + repository.getUrl() + ")", e );
                 }
-                else
+                catch ( TransferFailedException e )
                 {
-                    logger.warn( msg );
+                    tfe = e;
+
+                    String msg =
+                        "Unable to get artifact " + artifact.getId() + " from repository " + repository.getId() + " ("
+                            + repository.getUrl() + "): " + e.getMessage();
+                    if ( logger.isDebugEnabled() )
+                    {
+                        logger.warn( msg, e );
+                    }
+                    else
+                    {
+                        logger.warn( msg );
+                    }
                 }
             }
         }
+        finally
+        {
+            // the probes of repositories with lower priority are no longer of interest
+            for ( Future<Boolean> probe : probes.values() )
+            {
+                probe.cancel( true );
+            }
+        }
 
         // if it already exists locally we were just trying to force it - ignore the update
         if ( !artifact.getFile().exists() )
@@ -197,6 +238,136 @@ public class DefaultWagonManager
         }
     }
 
+    /**
+     * Starts the concurrent existence checks for the specified artifact if enabled via
+     * {@link #REPOSITORY_RACE_PROPERTY}. Only those repositories are probed that would actually be contacted for the
+     * artifact. The artifact is still downloaded from the first repository (in declaration order) that has it but
+     * the repositories before it need not be waited for one after another.
+     *
+     * @return The pending existence checks, indexed by repository, never {@code null}.
+     */
+    private Map<ArtifactRepository, Future<Boolean>> probeRepositories( final Artifact artifact,
+                                                                         List<ArtifactRepository> remoteRepositories,
+                                                                         boolean force )
+    {
+        Map<ArtifactRepository, Future<Boolean>> probes = new LinkedHashMap<ArtifactRepository, Future<Boolean>>();
+
+        if ( remoteRepositories.size() <= 1 || !isRepositoryRace()
+            || !( artifact.isSnapshot() || !artifact.getFile().exists() ) )
+        {
+            return probes;
+        }
+
+        List<ArtifactRepository> candidates = new ArrayList<ArtifactRepository>();
+
+        for ( ArtifactRepository repository : remoteRepositories )
+        {
+            ArtifactRepositoryPolicy policy =
+                artifact.isSnapshot() ? repository.getSnapshots() : repository.getReleases();
+
+            if ( policy.isEnabled() && ( force || updateCheckManager.isUpdateRequired( artifact, repository ) ) )
+            {
+                candidates.add( repository );
+            }
+        }
+
+        if ( candidates.size() <= 1 )
+        {
+            return probes;
+        }
+
+        ExecutorService executor = getProbeExecutor();
+
+        for ( final ArtifactRepository repository : candidates )
+        {
+            probes.put( repository, executor.submit( new Callable<Boolean>()
+            {
+                public Boolean call()
+                    throws Exception
+                {
+                    return Boolean.valueOf( resourceExists( repository, repository.pathOf( artifact ) ) );
+                }
+            } ) );
+        }
+
+        return probes;
+    }
+
+    /**
+     * Determines whether the specified existence check allows to skip the repository. Only a conclusive negative
+     * answer does, failed checks are left to the actual download which will report the problem.
+     */
+    private boolean isAvailable( Future<Boolean> probe, Artifact artifact, ArtifactRepository repository )
+    {
+        if ( probe == null )
+        {
+            return true;
+        }
+
+        try
+        {
+            return probe.get().booleanValue();
+        }
+        catch ( ExecutionException e )
+        {
+            logger.debug( "Failed to check existence of artifact " + artifact.getId() + " in repository "
+                + repository.getId() + " (" + repository.getUrl() + ")", e.getCause() );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        return true;
+    }
+
+    private boolean resourceExists( ArtifactRepository repository, String remotePath )
+        throws Exception
+    {
+        String protocol = repository.getProtocol();
+
+        Wagon wagon = getWagon( protocol );
+
+        try
+        {
+            connectWagon( wagon, repository );
+
+            return wagon.resourceExists( remotePath );
+        }
+        finally
+        {
+            disconnectWagon( wagon );
+
+            releaseWagon( protocol, wagon );
+        }
+    }
+
+    private boolean isRepositoryRace()
+    {
+        MavenSession session = legacySupport.getSession();
+
+        Properties userProperties = ( session != null ) ? session.getUserProperties() : null;
+
+        return userProperties != null && Boolean.parseBoolean( userProperties.getProperty( REPOSITORY_RACE_PROPERTY ) );
+    }
+
+    private synchronized ExecutorService getProbeExecutor()
+    {
+        if ( probeExecutor == null )
+        {
+            probeExecutor = Executors.newCachedThreadPool( new ThreadFactory()
+            {
+                public Thread newThread( Runnable r )
+                {
+                    Thread thread = new Thread( r, "repository-probe" );
+                    thread.setDaemon( true );
+                    return thread;
+                }
+            } );
+        }
+        return probeExecutor;
+    }
+
     public void getArtifactMetadata( ArtifactMetadata metadata, ArtifactRepository repository, File destination,
                                      String checksumPolicy )
         throws TransferFailedException, ResourceDoesNotExistException
@@ -312,15 +483,11 @@ public class DefaultWagonManager
             // only way the retry flag can be set is if ( firstRun == true ).
             while ( firstRun || retry )
             {
-                ChecksumObserver md5ChecksumObserver = null;
-                ChecksumObserver sha1ChecksumObserver = null;
+                ChecksumCalculator checksumCalculator = null;
                 try
                 {
                     // TODO: configure on repository
-                    int i = 0;
-
-                    md5ChecksumObserver = addChecksumObserver( wagon, CHECKSUM_ALGORITHMS[i++] );
-                    sha1ChecksumObserver = addChecksumObserver( wagon, CHECKSUM_ALGORITHMS[i++] );
+                    checksumCalculator = addChecksumCalculator( wagon );
 
                     // reset the retry flag.
                     retry = false;
@@ -354,8 +521,7 @@ public class DefaultWagonManager
                 }
                 finally
                 {
-                    wagon.removeTransferListener( md5ChecksumObserver );
-                    wagon.removeTransferListener( sha1ChecksumObserver );
+                    wagon.removeTransferListener( checksumCalculator );
                 }
 
                 if ( downloaded )
@@ -369,7 +535,7 @@ public class DefaultWagonManager
                     // try to verify the SHA-1 checksum for this file.
                     try
                     {
-                        verifyChecksum( sha1ChecksumObserver, destination, temp, remotePath, ".sha1", wagon );
+                        verifyChecksum( checksumCalculator, "SHA-1", destination, temp, remotePath, ".sha1", wagon );
                     }
                     catch ( ChecksumFailedException e )
                     {
@@ -395,7 +561,7 @@ public class DefaultWagonManager
                         // file...we'll try again with the MD5 checksum.
                         try
                         {
-                            verifyChecksum( md5ChecksumObserver, destination, temp, remotePath, ".md5", wagon );
+                            verifyChecksum( checksumCalculator, "MD5", destination, temp, remotePath, ".md5", wagon );
                         }
                         catch ( ChecksumFailedException e )
                         {
@@ -522,15 +688,8 @@ public class DefaultWagonManager
             wagon.addTransferListener( downloadMonitor );
         }
 
-        Map<String, ChecksumObserver> checksums = new HashMap<String, ChecksumObserver>( 2 );
-
-        Map<String, String> sums = new HashMap<String, String>( 2 );
-
         // TODO: configure these on the repository
-        for ( int i = 0; i < CHECKSUM_IDS.length; i++ )
-        {
-            checksums.put( CHECKSUM_IDS[i], addChecksumObserver( wagon, CHECKSUM_ALGORITHMS[i] ) );
-        }
+        ChecksumCalculator checksumCalculator = addChecksumCalculator( wagon );
 
         List<File> temporaryFiles = new ArrayList<File>();
 
@@ -550,23 +709,20 @@ public class DefaultWagonManager
                 }
             }
 
-            // Pre-store the checksums as any future puts will overwrite them
-            for ( String extension : checksums.keySet() )
-            {
-                ChecksumObserver observer = checksums.get( extension );
-                sums.put( extension, observer.getActualChecksum() );
-            }
+            // Detach the calculator so that the checksums are not overwritten by the following puts
+            wagon.removeTransferListener( checksumCalculator );
 
             // We do this in here so we can checksum the artifact metadata too, otherwise it could be metadata itself
-            for ( String extension : checksums.keySet() )
+            for ( int i = 0; i < CHECKSUM_IDS.length; i++ )
             {
                 // TODO: shouldn't need a file intermediatary - improve wagon to take a stream
                 File temp = File.createTempFile( "maven-artifact", null );
                 temp.deleteOnExit();
-                FileUtils.fileWrite( temp.getAbsolutePath(), "UTF-8", sums.get( extension ) );
+                FileUtils.fileWrite( temp.getAbsolutePath(), "UTF-8",
+                                     checksumCalculator.getActualChecksum( CHECKSUM_ALGORITHMS[i] ) );
 
                 temporaryFiles.add( temp );
-                wagon.put( temp, remotePath + "." + extension );
+                wagon.put( temp, remotePath + "." + CHECKSUM_IDS[i] );
             }
         }
         catch ( ConnectionException e )
@@ -594,15 +750,7 @@ public class DefaultWagonManager
             // MNG-4543
             cleanupTemporaryFiles( temporaryFiles );
 
-            // Remove every checksum listener
-            for ( String aCHECKSUM_IDS : CHECKSUM_IDS )
-            {
-                TransferListener checksumListener = checksums.get( aCHECKSUM_IDS );
-                if ( checksumListener != null )
-                {
-                    wagon.removeTransferListener( checksumListener );
-                }
-            }
+            wagon.removeTransferListener( checksumCalculator );
 
             disconnectWagon( wagon );
 
@@ -628,18 +776,19 @@ public class DefaultWagonManager
 
     }
 
-    private ChecksumObserver addChecksumObserver( Wagon wagon, String algorithm )
+    private ChecksumCalculator addChecksumCalculator( Wagon wagon )
         throws TransferFailedException
     {
         try
         {
-            ChecksumObserver checksumObserver = new ChecksumObserver( algorithm );
-            wagon.addTransferListener( checksumObserver );
-            return checksumObserver;
+            ChecksumCalculator checksumCalculator = new ChecksumCalculator( CHECKSUM_ALGORITHMS );
+            wagon.addTransferListener( checksumCalculator );
+            return checksumCalculator;
         }
         catch ( NoSuchAlgorithmException e )
         {
-            throw new TransferFailedException( "Unable to add checksum for unsupported algorithm " + algorithm, e );
+            throw new TransferFailedException( "Unable to add checksum for unsupported algorithm: " + e.getMessage(),
+                                               e );
         }
     }
 
@@ -658,14 +807,14 @@ public class DefaultWagonManager
         // otherwise it is ignore
     }
 
-    private void verifyChecksum( ChecksumObserver checksumObserver, File destination, File tempDestination,
-                                 String remotePath, String checksumFileExtension, Wagon wagon )
+    private void verifyChecksum( ChecksumCalculator checksumCalculator, String algorithm, File destination,
+                                 File tempDestination, String remotePath, String checksumFileExtension, Wagon wagon )
         throws ResourceDoesNotExistException, TransferFailedException, AuthorizationException
     {
         try
         {
             // grab it first, because it's about to change...
-            String actualChecksum = checksumObserver.getActualChecksum();
+            String actualChecksum = checksumCalculator.getActualChecksum( algorithm );
 
             File tempChecksumFile = new File( tempDestination + checksumFileExtension + ".tmp" );
             tempChecksumFile.deleteOnExit();
@@ -26,9 +26,18 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.metadata.ArtifactMetadataSource;
 import org.apache.maven.artifact.metadata.ResolutionGroup;
 import org.apache.maven.artifact.repository.ArtifactRepository;
@@ -47,6 +56,7 @@ import org.apache.maven.artifact.versioning.OverConstrainedVersionException;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.LegacySupport;
+import org.apache.maven.project.artifact.MavenMetadataSource;
 import org.apache.maven.repository.legacy.metadata.ArtifactMetadataRetrievalException;
 import org.apache.maven.repository.legacy.metadata.DefaultMetadataResolutionRequest;
 import org.apache.maven.repository.legacy.metadata.MetadataResolutionRequest;
@@ -54,6 +64,7 @@ import org.apache.maven.repository.legacy.resolver.conflict.ConflictResolver;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
 
 /**
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
@@ -61,8 +72,17 @@ import org.codehaus.plexus.logging.Logger;
  */
 @Component( role = LegacyArtifactCollector.class )
 public class DefaultLegacyArtifactCollector
-    implements LegacyArtifactCollector
+    implements LegacyArtifactCollector, Disposable
 {
+
+    /**
+     * The user property that enables the concurrent prefetching of dependency metadata. The value is either a thread
+     * count or {@code true} to use as many threads as configured by the system property
+     * {@code maven.artifact.threads}. Prefetching only happens for a {@link MavenMetadataSource}, other sources are not
+     * known to keep the retrieved metadata around for the traversal.
+     */
+    static final String PARALLEL_COLLECTION_PROPERTY = "maven3.parallelCollection";
+
 	@Requirement(hint="nearest")
     private ConflictResolver defaultConflictResolver;
 
@@ -72,6 +92,8 @@ public class DefaultLegacyArtifactCollector
     @Requirement
     private LegacySupport legacySupport;
 
+    private ThreadPoolExecutor prefetcher;
+
     private void injectSession( ArtifactResolutionRequest request )
     {
         MavenSession session = legacySupport.getSession();
@@ -140,10 +162,13 @@ public class DefaultLegacyArtifactCollector
 
         ManagedVersionMap versionMap = getManagedVersionsMap( originatingArtifact, managedVersions );
 
+        // without a cache in the metadata source, prefetching would only retrieve everything twice
+        ExecutorService prefetcher = ( source instanceof MavenMetadataSource ) ? getPrefetcher() : null;
+
         try
         {
             recurse( result, root, resolvedArtifacts, versionMap, repositoryRequest, source, filter, listeners,
-                     conflictResolvers );
+                     conflictResolvers, prefetcher );
         }
         catch ( CyclicDependencyException e )
         {
@@ -240,7 +265,8 @@ public class DefaultLegacyArtifactCollector
     private void recurse( ArtifactResolutionResult result, ResolutionNode node,
                           Map<Object, List<ResolutionNode>> resolvedArtifacts, ManagedVersionMap managedVersions,
                           ArtifactResolutionRequest request, ArtifactMetadataSource source, ArtifactFilter filter,
-                          List<ResolutionListener> listeners, List<ConflictResolver> conflictResolvers )
+                          List<ResolutionListener> listeners, List<ConflictResolver> conflictResolvers,
+                          ExecutorService prefetcher )
         throws ArtifactResolutionException
     {
         fireEvent( ResolutionListener.TEST_ARTIFACT, listeners, node );
@@ -425,6 +451,11 @@ public class DefaultLegacyArtifactCollector
 
             Artifact parentArtifact = node.getArtifact();
 
+            if ( prefetcher != null )
+            {
+                prefetch( node, managedVersions, request, source, filter, prefetcher );
+            }
+
             for ( Iterator i = node.getChildrenIterator(); i.hasNext(); )
             {
                 ResolutionNode child = (ResolutionNode) i.next();
@@ -583,7 +614,7 @@ public class DefaultLegacyArtifactCollector
                         subRequest.setMirrors( request.getMirrors() );
                         subRequest.setProxies( request.getProxies() );
                         recurse( result, child, resolvedArtifacts, managedVersions, subRequest, source, filter,
-                                 listeners, conflictResolvers );
+                                 listeners, conflictResolvers, prefetcher );
                     }
                 }
                 catch ( OverConstrainedVersionException e )
@@ -600,6 +631,208 @@ public class DefaultLegacyArtifactCollector
         }
     }
 
+    /**
+     * Gets the executor for the metadata prefetching if enabled via {@link #PARALLEL_COLLECTION_PROPERTY}. The
+     * executor is shared by all collections and only resized if a later session asks for a different number of
+     * threads.
+     *
+     * @return The executor or {@code null} if the dependency metadata should be retrieved sequentially.
+     */
+    private ExecutorService getPrefetcher()
+    {
+        MavenSession session = legacySupport.getSession();
+
+        Properties userProperties = ( session != null ) ? session.getUserProperties() : null;
+        String value = ( userProperties != null ) ? userProperties.getProperty( PARALLEL_COLLECTION_PROPERTY ) : null;
+
+        int threads;
+        if ( value == null || value.length() <= 0 || "false".equals( value ) )
+        {
+            threads = 1;
+        }
+        else if ( "true".equals( value ) )
+        {
+            threads = Integer.getInteger( "maven.artifact.threads", 5 ).intValue();
+        }
+        else
+        {
+            try
+            {
+                threads = Integer.parseInt( value.trim() );
+            }
+            catch ( NumberFormatException e )
+            {
+                threads = 1;
+            }
+        }
+
+        if ( threads <= 1 )
+        {
+            return null;
+        }
+
+        return getPrefetcher( threads );
+    }
+
+    private synchronized ExecutorService getPrefetcher( int threads )
+    {
+        if ( prefetcher == null )
+        {
+            prefetcher =
+                new ThreadPoolExecutor( threads, threads, 3, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                                        new ThreadFactory()
+                                        {
+                                            public Thread newThread( Runnable r )
+                                            {
+                                                Thread thread = new Thread( r, "metadata-prefetcher" );
+                                                thread.setDaemon( true );
+                                                return thread;
+                                            }
+                                        } );
+        }
+        else if ( threads > prefetcher.getMaximumPoolSize() )
+        {
+            prefetcher.setMaximumPoolSize( threads );
+            prefetcher.setCorePoolSize( threads );
+        }
+        else if ( threads < prefetcher.getMaximumPoolSize() )
+        {
+            prefetcher.setCorePoolSize( threads );
+            prefetcher.setMaximumPoolSize( threads );
+        }
+        return prefetcher;
+    }
+
+    public synchronized void dispose()
+    {
+        if ( prefetcher != null )
+        {
+            prefetcher.shutdown();
+            prefetcher = null;
+        }
+    }
+
+    /**
+     * Concurrently retrieves the metadata of the children of the specified node that {@link #recurse} is going to
+     * visit next. The retrieval works on copies of the child artifacts and its results are discarded, it merely warms
+     * up the local repository and the metadata cache such that the subsequent sequential traversal, which is left
+     * untouched to keep the conflict resolution deterministic, does not need to wait for one download after another.
+     * Failures are ignored here, they will resurface and be reported during the traversal. Children that are optional,
+     * excluded by their parent or rejected by the collection filter are not prefetched, their metadata is either not
+     * needed at all or not worth competing with the dependencies that end up in the result. The metadata source is
+     * expected to cache what it retrieves which is why this is only done for a {@link MavenMetadataSource}.
+     */
+    private void prefetch( ResolutionNode node, ManagedVersionMap managedVersions, ArtifactResolutionRequest request,
+                           final ArtifactMetadataSource source, ArtifactFilter filter, ExecutorService prefetcher )
+    {
+        ArtifactFilter exclusionFilter = node.getArtifact().getDependencyFilter();
+
+        final MavenSession session = legacySupport.getSession();
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        List<Future<?>> fetches = new ArrayList<Future<?>>();
+
+        for ( Iterator i = node.getChildrenIterator(); i.hasNext(); )
+        {
+            ResolutionNode child = (ResolutionNode) i.next();
+
+            if ( child.isResolved() || ( child.getArtifact().isOptional() && !child.isChildOfRootNode() ) )
+            {
+                continue;
+            }
+
+            Artifact artifact = ArtifactUtils.copyArtifact( child.getArtifact() );
+
+            // mimic manageArtifact() such that we fetch the same POM as the traversal will
+            Artifact managedArtifact = (Artifact) managedVersions.get( child.getKey() );
+            if ( managedArtifact != null )
+            {
+                if ( managedArtifact.getVersion() != null
+                    && ( !child.isChildOfRootNode() || artifact.getVersion() == null ) )
+                {
+                    artifact.setVersion( managedArtifact.getVersion() );
+                }
+                if ( managedArtifact.getScope() != null
+                    && ( !child.isChildOfRootNode() || artifact.getScope() == null ) )
+                {
+                    artifact.setScope( managedArtifact.getScope() );
+                }
+                ArtifactFilter managedExclusionFilter = managedArtifact.getDependencyFilter();
+                if ( managedExclusionFilter != null )
+                {
+                    if ( artifact.getDependencyFilter() != null )
+                    {
+                        AndArtifactFilter aaf = new AndArtifactFilter();
+                        aaf.add( artifact.getDependencyFilter() );
+                        aaf.add( managedExclusionFilter );
+                        artifact.setDependencyFilter( aaf );
+                    }
+                    else
+                    {
+                        artifact.setDependencyFilter( managedExclusionFilter );
+                    }
+                }
+            }
+
+            // version ranges need to be mediated first, system scoped dependencies have no metadata to prefetch
+            if ( artifact.getVersion() == null || Artifact.SCOPE_SYSTEM.equals( artifact.getScope() ) )
+            {
+                continue;
+            }
+
+            if ( ( exclusionFilter != null && !exclusionFilter.include( artifact ) )
+                || ( filter != null && !filter.include( artifact ) ) )
+            {
+                continue;
+            }
+
+            final MetadataResolutionRequest metadataRequest = new DefaultMetadataResolutionRequest( request );
+            metadataRequest.setArtifact( artifact );
+            metadataRequest.setRemoteRepositories( child.getRemoteRepositories() );
+
+            fetches.add( prefetcher.submit( new Runnable()
+            {
+                public void run()
+                {
+                    ClassLoader old = Thread.currentThread().getContextClassLoader();
+                    Thread.currentThread().setContextClassLoader( classLoader );
+                    legacySupport.setSession( session );
+                    try
+                    {
+                        source.retrieve( metadataRequest );
+                    }
+                    catch ( ArtifactMetadataRetrievalException e )
+                    {
+                        logger.debug( "Failed to prefetch metadata for " + metadataRequest.getArtifact().getId()
+                            + ": " + e.getMessage(), e );
+                    }
+                    finally
+                    {
+                        legacySupport.setSession( null );
+                        Thread.currentThread().setContextClassLoader( old );
+                    }
+                }
+            } ) );
+        }
+
+        for ( Future<?> fetch : fetches )
+        {
+            try
+            {
+                fetch.get();
+            }
+            catch ( ExecutionException e )
+            {
+                logger.debug( "Failed to prefetch metadata: " + e.getCause().getMessage(), e.getCause() );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
     private void manageArtifact( ResolutionNode node, ManagedVersionMap managedVersions,
                                  List<ResolutionListener> listeners )
     {
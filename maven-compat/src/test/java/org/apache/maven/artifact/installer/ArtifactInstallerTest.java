@@ -23,6 +23,8 @@ import java.io.File;
 
 import org.apache.maven.artifact.AbstractArtifactComponentTestCase;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.codehaus.plexus.util.FileUtils;
 
 /**
  * @author <a href="mailto:jason@maven.org">Jason van Zyl</a>
@@ -59,4 +61,35 @@ public class ArtifactInstallerTest
 
         assertLocalArtifactPresent( artifact );
     }
-}
\ No newline at end of file
+
+    public void testReinstallation()
+        throws Exception
+    {
+        File source = new File( getBasedir(), "target/test-data/reinstallation/reinstalled-1.0.jar" );
+        source.getParentFile().mkdirs();
+        FileUtils.fileWrite( source.getAbsolutePath(), "UTF-8", "first" );
+        source.setLastModified( 1000000000000L );
+
+        Artifact artifact = createArtifact( "reinstalled", "1.0" );
+        ArtifactRepository localRepository = localRepository();
+        File destination = new File( localRepository.getBasedir(), localRepository.pathOf( artifact ) );
+        destination.delete();
+
+        artifactInstaller.install( source, artifact, localRepository );
+        assertEquals( "first", FileUtils.fileRead( destination, "UTF-8" ) );
+        assertEquals( source.lastModified(), destination.lastModified() );
+
+        // same content, different timestamp
+        source.setLastModified( 1100000000000L );
+        artifactInstaller.install( source, artifact, localRepository );
+        assertEquals( "first", FileUtils.fileRead( destination, "UTF-8" ) );
+        assertEquals( source.lastModified(), destination.lastModified() );
+
+        // different content, same length
+        FileUtils.fileWrite( source.getAbsolutePath(), "UTF-8", "other" );
+        source.setLastModified( 1200000000000L );
+        artifactInstaller.install( source, artifact, localRepository );
+        assertEquals( "other", FileUtils.fileRead( destination, "UTF-8" ) );
+        assertEquals( source.lastModified(), destination.lastModified() );
+    }
+}
@@ -0,0 +1,88 @@
+package org.apache.maven.artifact.repository.metadata;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+import java.io.File;
+
+import junit.framework.TestCase;
+
+public class MetadataFileCacheTest
+    extends TestCase
+{
+
+    private File file = new File( "target/maven-metadata-central.xml" );
+
+    private Metadata newMetadata( String version )
+    {
+        Metadata metadata = new Metadata();
+        metadata.setGroupId( "org.apache" );
+        metadata.setArtifactId( "a" );
+        metadata.setVersion( version );
+        return metadata;
+    }
+
+    public void testStaleEntriesAreIgnored()
+    {
+        MetadataFileCache cache = new MetadataFileCache( 16 );
+
+        assertNull( cache.get( file, 100, 1000 ) );
+
+        cache.put( file, 100, 1000, newMetadata( "1.0" ) );
+
+        assertEquals( "1.0", cache.get( file, 100, 1000 ).getVersion() );
+        assertNull( cache.get( file, 101, 1000 ) );
+        assertNull( cache.get( file, 100, 2000 ) );
+    }
+
+    public void testCopiesAreHandedOut()
+    {
+        MetadataFileCache cache = new MetadataFileCache( 16 );
+
+        Metadata metadata = newMetadata( "1.0" );
+        cache.put( file, 100, 1000, metadata );
+        metadata.setVersion( "2.0" );
+
+        Metadata copy = cache.get( file, 100, 1000 );
+        assertEquals( "1.0", copy.getVersion() );
+        copy.setVersion( "3.0" );
+
+        assertEquals( "1.0", cache.get( file, 100, 1000 ).getVersion() );
+    }
+
+    public void testTouchedFileRemainsCached()
+    {
+        MetadataFileCache cache = new MetadataFileCache( 16 );
+
+        cache.put( file, 100, 1000, newMetadata( "1.0" ) );
+        cache.touched( file, 100, 1000, 5000 );
+
+        assertNull( cache.get( file, 100, 1000 ) );
+        assertEquals( "1.0", cache.get( file, 100, 5000 ).getVersion() );
+
+        cache.touched( file, 100, 1000, 9000 );
+        assertNull( cache.get( file, 100, 9000 ) );
+    }
+
+    public void testDisabledCache()
+    {
+        MetadataFileCache cache = new MetadataFileCache( 0 );
+
+        cache.put( file, 100, 1000, newMetadata( "1.0" ) );
+
+        assertNull( cache.get( file, 100, 1000 ) );
+    }
+
+}
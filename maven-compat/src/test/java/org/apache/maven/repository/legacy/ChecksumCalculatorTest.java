@@ -0,0 +1,55 @@
+package org.apache.maven.repository.legacy;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+public class ChecksumCalculatorTest
+    extends TestCase
+{
+
+    public void testChunkedTransfer()
+        throws Exception
+    {
+        ChecksumCalculator calculator = new ChecksumCalculator( "MD5", "SHA-1" );
+
+        byte[] data = "hello world".getBytes( "UTF-8" );
+
+        calculator.transferStarted( null );
+        calculator.transferProgress( null, data, 5 );
+        byte[] rest = new byte[data.length];
+        System.arraycopy( data, 5, rest, 0, data.length - 5 );
+        calculator.transferProgress( null, rest, data.length - 5 );
+        assertNull( calculator.getActualChecksum( "SHA-1" ) );
+        calculator.transferCompleted( null );
+
+        assertEquals( "5eb63bbbe01eeed093cb22bb8f5acdc3", calculator.getActualChecksum( "MD5" ) );
+        assertEquals( "2aae6c35c94fcfb415dbe95f408b9ce91ee846ed", calculator.getActualChecksum( "SHA-1" ) );
+
+        calculator.transferStarted( null );
+        assertNull( calculator.getActualChecksum( "MD5" ) );
+    }
+
+    public void testEncodeKeepsLeadingZeros()
+    {
+        assertEquals( "000fa0ff", ChecksumCalculator.encode( new byte[] { 0x00, 0x0F, (byte) 0xA0, (byte) 0xFF } ) );
+    }
+
+}
@@ -20,6 +20,8 @@ package org.apache.maven.repository.legacy;
  */
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.util.Properties;
 
 import org.apache.maven.artifact.AbstractArtifactComponentTestCase;
 import org.apache.maven.artifact.Artifact;
@@ -30,6 +32,7 @@ import org.apache.maven.artifact.repository.metadata.RepositoryMetadata;
 import org.apache.maven.repository.legacy.DefaultUpdateCheckManager;
 import org.codehaus.plexus.logging.Logger;
 import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.codehaus.plexus.util.IOUtil;
 
 public class DefaultUpdateCheckManagerTest
     extends AbstractArtifactComponentTestCase
@@ -216,6 +219,102 @@ public class DefaultUpdateCheckManagerTest
         assertNotNull( updateCheckManager.readLastUpdated( touchFile, updateCheckManager.getMetadataKey( remoteRepository, file ) ) );
     }
 
+    public void testTouchesAreWrittenInTrackingFileFormat()
+        throws Exception
+    {
+        ArtifactRepository remoteRepository = remoteRepository();
+
+        ArtifactRepository localRepository = localRepository();
+
+        Artifact a = createArtifact( "a", "0.0.1-SNAPSHOT" );
+        File file = new File( localRepository.getBasedir(), localRepository.pathOf( a ) );
+        file.delete();
+        a.setFile( file );
+
+        File touchFile = updateCheckManager.getTouchfile( a );
+        touchFile.delete();
+
+        updateCheckManager.touch( a, remoteRepository, "failure" );
+
+        assertEquals( "failure", updateCheckManager.getError( a, remoteRepository ) );
+
+        Properties props = new Properties();
+        FileInputStream is = new FileInputStream( touchFile );
+        try
+        {
+            props.load( is );
+        }
+        finally
+        {
+            IOUtil.close( is );
+        }
+        String key = updateCheckManager.getRepositoryKey( remoteRepository );
+        assertNotNull( props.getProperty( key ) );
+        assertEquals( "failure", props.getProperty( key + ".error" ) );
+
+        DefaultUpdateCheckManager other =
+            new DefaultUpdateCheckManager( new ConsoleLogger( Logger.LEVEL_DEBUG, "test" ) );
+        assertEquals( "failure", other.getError( a, remoteRepository ) );
+        assertFalse( other.isUpdateRequired( a, remoteRepository ) );
+    }
+
+    public void testChangesOfConcurrentBuildsAreSeen()
+        throws Exception
+    {
+        ArtifactRepository remoteRepository = remoteRepository();
+
+        ArtifactRepository localRepository = localRepository();
+
+        Artifact a = createArtifact( "a", "0.0.1-SNAPSHOT" );
+        File file = new File( localRepository.getBasedir(), localRepository.pathOf( a ) );
+        file.delete();
+        a.setFile( file );
+
+        File touchFile = updateCheckManager.getTouchfile( a );
+        touchFile.delete();
+
+        updateCheckManager.touch( a, remoteRepository, "failure" );
+        assertEquals( "failure", updateCheckManager.getError( a, remoteRepository ) );
+
+        DefaultUpdateCheckManager other =
+            new DefaultUpdateCheckManager( new ConsoleLogger( Logger.LEVEL_DEBUG, "test" ) );
+        other.touch( a, remoteRepository, null );
+
+        assertNull( updateCheckManager.getError( a, remoteRepository ) );
+    }
+
+    public void testSameSizeChangesOfConcurrentBuildsAreSeen()
+        throws Exception
+    {
+        ArtifactRepository remoteRepository = remoteRepository();
+
+        ArtifactRepository localRepository = localRepository();
+
+        Artifact a = createArtifact( "a", "0.0.1-SNAPSHOT" );
+        File file = new File( localRepository.getBasedir(), localRepository.pathOf( a ) );
+        file.delete();
+        a.setFile( file );
+
+        File touchFile = updateCheckManager.getTouchfile( a );
+        touchFile.delete();
+
+        updateCheckManager.touch( a, remoteRepository, "failure-1" );
+        assertEquals( "failure-1", updateCheckManager.getError( a, remoteRepository ) );
+
+        long lastModified = touchFile.lastModified();
+        long length = touchFile.length();
+
+        DefaultUpdateCheckManager other =
+            new DefaultUpdateCheckManager( new ConsoleLogger( Logger.LEVEL_DEBUG, "test" ) );
+        other.touch( a, remoteRepository, "failure-2" );
+
+        // a file system with a coarse timestamp resolution cannot tell such a rewrite from the original
+        touchFile.setLastModified( lastModified );
+        assertEquals( length, touchFile.length() );
+
+        assertEquals( "failure-2", updateCheckManager.getError( a, remoteRepository ) );
+    }
+
     public void testArtifactTouchFileName() throws Exception
     {
         ArtifactFactory artifactFactory = (ArtifactFactory) lookup( ArtifactFactory.ROLE );
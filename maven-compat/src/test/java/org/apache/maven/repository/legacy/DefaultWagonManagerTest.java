@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
@@ -34,6 +35,11 @@ import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
 import org.apache.maven.artifact.repository.layout.ArtifactRepositoryLayout;
 import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
 import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.LegacySupport;
 import org.apache.maven.wagon.ResourceDoesNotExistException;
 import org.apache.maven.wagon.TransferFailedException;
 import org.apache.maven.wagon.UnsupportedProtocolException;
@@ -174,6 +180,50 @@ public class DefaultWagonManagerTest
         control.verify();
     }
 
+    public void testRepositoryRaceHonorsDeclarationOrder()
+        throws Exception
+    {
+        File basedir = getTestFile( "target/test-data/repository-race" );
+        FileUtils.deleteDirectory( basedir );
+
+        Artifact artifact = createTestArtifact( "target/test-data/repository-race/local", "jar" );
+
+        List<ArtifactRepository> repos = new ArrayList<ArtifactRepository>();
+        for ( int i = 1; i <= 4; i++ )
+        {
+            File repoDir = new File( basedir, "repo" + i );
+            repoDir.mkdirs();
+            repos.add( getRepo( "repo" + i, repoDir.toURI().toString() ) );
+        }
+        String path = repos.get( 0 ).pathOf( artifact );
+        String[] contents = { "three", "four" };
+        for ( int i = 0; i < contents.length; i++ )
+        {
+            File file = new File( basedir, "repo" + ( i + 3 ) + "/" + path );
+            file.getParentFile().mkdirs();
+            FileUtils.fileWrite( file.getAbsolutePath(), "UTF-8", contents[i] );
+        }
+
+        LegacySupport legacySupport = lookup( LegacySupport.class );
+        MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+        Properties userProperties = new Properties();
+        userProperties.setProperty( DefaultWagonManager.REPOSITORY_RACE_PROPERTY, "true" );
+        request.setUserProperties( userProperties );
+        legacySupport.setSession( new MavenSession( getContainer(), request, new DefaultMavenExecutionResult() ) );
+        try
+        {
+            wagonManager.getArtifact( artifact, repos, null, false );
+        }
+        finally
+        {
+            legacySupport.setSession( null );
+        }
+
+        assertTrue( artifact.isResolved() );
+        assertEquals( "three", FileUtils.fileRead( artifact.getFile(), "UTF-8" ) );
+        assertSame( repos.get( 2 ), artifact.getRepository() );
+    }
+
     private Artifact createTestPomArtifact( String directory )
         throws IOException
     {
@@ -28,6 +28,7 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -47,6 +48,12 @@ import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.OverConstrainedVersionException;
 import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.LegacySupport;
+import org.apache.maven.project.artifact.MavenMetadataSource;
 import org.apache.maven.repository.legacy.metadata.MetadataResolutionRequest;
 import org.codehaus.plexus.PlexusTestCase;
 
@@ -718,6 +725,84 @@ public class DefaultArtifactCollectorTest
         }
     }
 
+    public void testParallelCollectionMatchesSequentialCollection()
+        throws Exception
+    {
+        ArtifactSpec a = createArtifactSpec( "a", "1.0" );
+        ArtifactSpec b1 = a.addDependency( "b", "1.0" );
+        ArtifactSpec c = a.addDependency( "c", "1.0" );
+        ArtifactSpec d2 = b1.addDependency( "d", "2.0" );
+        d2.addDependency( "h", "1.0", Artifact.SCOPE_RUNTIME );
+        ArtifactSpec d1 = c.addDependency( "d", "1.0" );
+        ArtifactSpec b2 = c.addDependency( "b", "2.0" );
+        b2.addDependency( "e", "1.0", Artifact.SCOPE_TEST );
+        d1.addDependency( "g", "1.0" );
+        d1.addDependency( "i", "[1.0,2.0)" );
+        createArtifactSpec( "i", "1.1" );
+        createArtifactSpec( "i", "1.2" );
+
+        ArtifactSpec x = createArtifactSpec( "x", "1.0" );
+        x.addDependency( "g", "2.0", Artifact.SCOPE_RUNTIME );
+        x.addDependency( "c", "1.0" );
+
+        Set artifacts = createSet( new Object[] { a.artifact, x.artifact } );
+
+        List<String> expected = toStrings( collect( artifacts ) );
+
+        LegacySupport legacySupport = lookup( LegacySupport.class );
+        MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+        Properties userProperties = new Properties();
+        userProperties.setProperty( DefaultLegacyArtifactCollector.PARALLEL_COLLECTION_PROPERTY, "4" );
+        request.setUserProperties( userProperties );
+        legacySupport.setSession( new MavenSession( getContainer(), request, new DefaultMavenExecutionResult() ) );
+        try
+        {
+            // the test source does not cache anything so it must not be asked twice for the same metadata
+            source.retrievalThreads.clear();
+            assertEquals( expected, toStrings( collect( artifacts ) ) );
+            assertEquals( Collections.singleton( Thread.currentThread().getName() ), source.retrievalThreads );
+
+            for ( int i = 0; i < 10; i++ )
+            {
+                CachingSource cachingSource = new CachingSource();
+                ArtifactResolutionResult result =
+                    artifactCollector.collect( artifacts, projectArtifact.artifact, null, null, null, cachingSource,
+                                               null, Collections.EMPTY_LIST, null );
+                assertEquals( expected, toStrings( result ) );
+
+                assertTrue( cachingSource.retrievals.containsKey( "test:b:jar:1.0" ) );
+                assertTrue( cachingSource.retrievals.containsKey( "test:c:jar:1.0" ) );
+                for ( Map.Entry<String, List<String>> entry : cachingSource.retrievals.entrySet() )
+                {
+                    String id = entry.getKey();
+                    List<String> threads = entry.getValue();
+
+                    // version ranges are mediated during the traversal and hence not prefetched
+                    if ( !id.startsWith( "test:i:" ) )
+                    {
+                        assertEquals( id + " " + threads, "metadata-prefetcher", threads.get( 0 ) );
+                        assertTrue( id + " " + threads, threads.contains( Thread.currentThread().getName() ) );
+                    }
+                }
+            }
+        }
+        finally
+        {
+            legacySupport.setSession( null );
+        }
+    }
+
+    private List<String> toStrings( ArtifactResolutionResult result )
+    {
+        List<String> strings = new ArrayList<String>();
+        for ( Iterator i = result.getArtifacts().iterator(); i.hasNext(); )
+        {
+            Artifact artifact = (Artifact) i.next();
+            strings.add( artifact.getId() + ":" + artifact.getScope() + " " + artifact.getDependencyTrail() );
+        }
+        return strings;
+    }
+
     private Artifact getArtifact( String id, Set artifacts )
     {
         for ( Iterator i = artifacts.iterator(); i.hasNext(); )
@@ -856,10 +941,14 @@ public class DefaultArtifactCollectorTest
 
         private Map versions = new HashMap();
 
+        private Set<String> retrievalThreads = Collections.synchronizedSet( new HashSet<String>() );
+
         public ResolutionGroup retrieve( Artifact artifact, ArtifactRepository localRepository,
                                          List<ArtifactRepository> remoteRepositories )
             throws ArtifactMetadataRetrievalException
         {
+            retrievalThreads.add( Thread.currentThread().getName() );
+
             String key = getKey( artifact );
 
             ArtifactSpec a = (ArtifactSpec) artifacts.get( key );
@@ -982,4 +1071,37 @@ public class DefaultArtifactCollectorTest
             return retrieveAvailableVersions( request.getArtifact(), request.getLocalRepository(), request.getRemoteRepositories() );
         }
     }
+
+    /**
+     * Stands in for the real metadata source, records the threads that retrieve the metadata of an artifact in the
+     * order of the retrievals.
+     */
+    private class CachingSource
+        extends MavenMetadataSource
+    {
+        private Map<String, List<String>> retrievals = new HashMap<String, List<String>>();
+
+        public ResolutionGroup retrieve( MetadataResolutionRequest request )
+            throws ArtifactMetadataRetrievalException
+        {
+            synchronized ( retrievals )
+            {
+                String id = request.getArtifact().getId();
+                List<String> threads = retrievals.get( id );
+                if ( threads == null )
+                {
+                    threads = new ArrayList<String>();
+                    retrievals.put( id, threads );
+                }
+                threads.add( Thread.currentThread().getName() );
+            }
+            return source.retrieve( request );
+        }
+
+        public List<ArtifactVersion> retrieveAvailableVersions( MetadataResolutionRequest request )
+            throws ArtifactMetadataRetrievalException
+        {
+            return source.retrieveAvailableVersions( request );
+        }
+    }
 }
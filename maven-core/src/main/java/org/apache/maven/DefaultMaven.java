@@ -20,6 +20,7 @@ package org.apache.maven;
  */
 
 import java.io.File;
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -33,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.execution.BuildTimings;
 import org.apache.maven.execution.DefaultMavenExecutionResult;
 import org.apache.maven.execution.ExecutionEvent;
 import org.apache.maven.execution.MavenExecutionRequest;
@@ -47,6 +49,8 @@ import org.apache.maven.model.building.ModelProblem;
 import org.apache.maven.model.building.ModelProblemUtils;
 import org.apache.maven.model.building.ModelSource;
 import org.apache.maven.model.building.UrlModelSource;
+import org.apache.maven.plugin.DefaultPluginRealmCache;
+import org.apache.maven.plugin.PluginRealmCache;
 import org.apache.maven.project.DuplicateProjectException;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuilder;
@@ -91,6 +95,9 @@ public class DefaultMaven
     @Requirement
     private ExecutionEventCatapult eventCatapult;
 
+    @Requirement
+    private PluginRealmCache pluginRealmCache;
+
     public MavenExecutionResult execute( MavenExecutionRequest request )
     {
         MavenExecutionResult result;
@@ -249,7 +256,18 @@ public class DefaultMaven
             return result;
         }
 
-        lifecycleStarter.execute( session );
+        readBuildTimings( session );
+
+        try
+        {
+            lifecycleStarter.execute( session );
+        }
+        finally
+        {
+            releasePluginRealms( session );
+        }
+
+        writeBuildTimings( session );
 
         validateActivatedProfiles( session.getProjects(), request.getActiveProfiles() );
 
@@ -261,6 +279,74 @@ public class DefaultMaven
         return result;
     }
 
+    private void releasePluginRealms( MavenSession session )
+    {
+        if ( !( pluginRealmCache instanceof DefaultPluginRealmCache ) )
+        {
+            // other implementations manage the lifetime of their realms on their own
+            return;
+        }
+
+        ( (DefaultPluginRealmCache) pluginRealmCache ).release( session );
+    }
+
+    /**
+     * Gets the file holding the build times of previous builds of the reactor. The history is only kept for parallel
+     * builds, it lives in the local repository so that neither the build directories get cluttered nor the history
+     * gets lost by cleaning the project.
+     */
+    private File getBuildTimingsFile( MavenSession session )
+    {
+        MavenProject topLevelProject = session.getTopLevelProject();
+
+        if ( !session.getRequest().isThreadConfigurationPresent() || !session.isUsingPOMsFromFilesystem()
+            || topLevelProject == null || topLevelProject.getBasedir() == null || session.getLocalRepository() == null )
+        {
+            return null;
+        }
+
+        String basedir = topLevelProject.getBasedir().getAbsolutePath();
+
+        File directory = new File( session.getLocalRepository().getBasedir(), BuildTimings.DIRECTORY );
+
+        return new File( directory, topLevelProject.getArtifactId() + '-' + Integer.toHexString( basedir.hashCode() )
+            + ".txt" );
+    }
+
+    private void readBuildTimings( MavenSession session )
+    {
+        File file = getBuildTimingsFile( session );
+
+        if ( file != null )
+        {
+            try
+            {
+                session.getBuildTimings().read( file );
+            }
+            catch ( IOException e )
+            {
+                logger.debug( "Failed to read build timings from " + file + ": " + e.getMessage() );
+            }
+        }
+    }
+
+    private void writeBuildTimings( MavenSession session )
+    {
+        File file = getBuildTimingsFile( session );
+
+        if ( file != null )
+        {
+            try
+            {
+                session.getBuildTimings().write( file );
+            }
+            catch ( IOException e )
+            {
+                logger.debug( "Failed to write build timings to " + file + ": " + e.getMessage() );
+            }
+        }
+    }
+
     @SuppressWarnings( { "ResultOfMethodCallIgnored" } )
     private void validateLocalRepository( MavenExecutionRequest request )
         throws LocalRepositoryNotAccessibleException
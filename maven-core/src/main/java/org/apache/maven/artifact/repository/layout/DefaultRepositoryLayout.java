@@ -21,6 +21,7 @@ package org.apache.maven.artifact.repository.layout;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.internal.BoundedCache;
 import org.apache.maven.artifact.metadata.ArtifactMetadata;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.codehaus.plexus.component.annotations.Component;
@@ -38,6 +39,18 @@ public class DefaultRepositoryLayout
 
     private static final char ARTIFACT_SEPARATOR = '-';
 
+    private static final String CACHE_SIZE_PROPERTY = "maven.layoutCache.size";
+
+    /**
+     * The memoized directories of group ids and paths of artifacts. The same paths are requested for every lookup,
+     * download and installation of an artifact.
+     */
+    private static final BoundedCache<String, String> GROUP_DIRECTORIES =
+        new BoundedCache<String, String>( CACHE_SIZE_PROPERTY, 8192 );
+
+    private static final BoundedCache<PathKey, String> ARTIFACT_PATHS =
+        new BoundedCache<PathKey, String>( CACHE_SIZE_PROPERTY, 8192 );
+
     public String getId()
     {
         return "default";
@@ -47,21 +60,40 @@ public class DefaultRepositoryLayout
     {
         ArtifactHandler artifactHandler = artifact.getArtifactHandler();
 
+        PathKey key =
+            new PathKey( artifact.getGroupId(), artifact.getArtifactId(), artifact.getBaseVersion(),
+                         artifact.getVersion(), artifact.hasClassifier() ? artifact.getClassifier() : null,
+                         artifactHandler.getExtension() );
+
+        String path = ARTIFACT_PATHS.get( key );
+
+        if ( path == null )
+        {
+            path = pathOf( key );
+
+            ARTIFACT_PATHS.put( key, path );
+        }
+
+        return path;
+    }
+
+    private String pathOf( PathKey key )
+    {
         StringBuilder path = new StringBuilder( 128 );
 
-        path.append( formatAsDirectory( artifact.getGroupId() ) ).append( PATH_SEPARATOR );
-        path.append( artifact.getArtifactId() ).append( PATH_SEPARATOR );
-        path.append( artifact.getBaseVersion() ).append( PATH_SEPARATOR );
-        path.append( artifact.getArtifactId() ).append( ARTIFACT_SEPARATOR ).append( artifact.getVersion() );
+        path.append( formatAsDirectory( key.groupId ) ).append( PATH_SEPARATOR );
+        path.append( key.artifactId ).append( PATH_SEPARATOR );
+        path.append( key.baseVersion ).append( PATH_SEPARATOR );
+        path.append( key.artifactId ).append( ARTIFACT_SEPARATOR ).append( key.version );
 
-        if ( artifact.hasClassifier() )
+        if ( key.classifier != null )
         {
-            path.append( ARTIFACT_SEPARATOR ).append( artifact.getClassifier() );
+            path.append( ARTIFACT_SEPARATOR ).append( key.classifier );
         }
 
-        if ( artifactHandler.getExtension() != null && artifactHandler.getExtension().length() > 0 )
+        if ( key.extension != null && key.extension.length() > 0 )
         {
-            path.append( GROUP_SEPARATOR ).append( artifactHandler.getExtension() );
+            path.append( GROUP_SEPARATOR ).append( key.extension );
         }
 
         return path.toString();
@@ -100,7 +132,91 @@ public class DefaultRepositoryLayout
 
     private String formatAsDirectory( String directory )
     {
-        return directory.replace( GROUP_SEPARATOR, PATH_SEPARATOR );
+        String formatted = GROUP_DIRECTORIES.get( directory );
+
+        if ( formatted == null )
+        {
+            formatted = directory.replace( GROUP_SEPARATOR, PATH_SEPARATOR );
+
+            GROUP_DIRECTORIES.put( directory, formatted );
+        }
+
+        return formatted;
+    }
+
+    private static final class PathKey
+    {
+
+        final String groupId;
+
+        final String artifactId;
+
+        final String baseVersion;
+
+        final String version;
+
+        final String classifier;
+
+        final String extension;
+
+        private final int hashCode;
+
+        PathKey( String groupId, String artifactId, String baseVersion, String version, String classifier,
+                 String extension )
+        {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.baseVersion = baseVersion;
+            this.version = version;
+            this.classifier = classifier;
+            this.extension = extension;
+
+            int hash = 17;
+            hash = hash * 31 + hash( groupId );
+            hash = hash * 31 + hash( artifactId );
+            hash = hash * 31 + hash( baseVersion );
+            hash = hash * 31 + hash( version );
+            hash = hash * 31 + hash( classifier );
+            hash = hash * 31 + hash( extension );
+            hashCode = hash;
+        }
+
+        private static int hash( String s )
+        {
+            return ( s != null ) ? s.hashCode() : 0;
+        }
+
+        private static boolean eq( String s1, String s2 )
+        {
+            return s1 != null ? s1.equals( s2 ) : s2 == null;
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( this == obj )
+            {
+                return true;
+            }
+
+            if ( !( obj instanceof PathKey ) )
+            {
+                return false;
+            }
+
+            PathKey that = (PathKey) obj;
+
+            return hashCode == that.hashCode && eq( groupId, that.groupId ) && eq( artifactId, that.artifactId )
+                && eq( version, that.version ) && eq( baseVersion, that.baseVersion )
+                && eq( classifier, that.classifier ) && eq( extension, that.extension );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
     }
 
 }
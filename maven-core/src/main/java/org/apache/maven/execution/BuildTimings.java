@@ -0,0 +1,291 @@
+package org.apache.maven.execution;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Keeps the build times of projects, task segments and mojo executions, both as recorded by previous builds of the
+ * same reactor (the history) and as measured during the current build. The history is stored in a small append-only
+ * text file with one tab-separated {@code kind key millis} record per line, where later records for the same key are
+ * folded into a running average. Projects are identified by {@code groupId:artifactId} so that the history survives
+ * version changes.
+ * <p/>
+ * Instances are safe for use by multiple threads.
+ */
+public class BuildTimings
+{
+
+    /**
+     * The directory the history files of the reactors are stored in, relative to the base directory of the local
+     * repository.
+     */
+    public static final String DIRECTORY = ".cache/build-timings";
+
+    private static final String PROJECT = "P";
+
+    private static final String SEGMENT = "S";
+
+    private static final String MOJO = "M";
+
+    /**
+     * Once the history file holds this many times more records than distinct keys, it gets rewritten in compacted
+     * form.
+     */
+    private static final int COMPACTION_RATIO = 10;
+
+    private final Map<String, Long> history = new ConcurrentHashMap<String, Long>();
+
+    private final Map<String, Long> current = new ConcurrentHashMap<String, Long>();
+
+    private int historyRecords;
+
+    /**
+     * Gets the historical build time of the specified project.
+     *
+     * @param project The project, must not be {@code null}.
+     * @return The build time in milliseconds or {@code -1} if unknown.
+     */
+    public long getProjectTime( MavenProject project )
+    {
+        return get( history, PROJECT, getKey( project ) );
+    }
+
+    /**
+     * Gets the historical build time of the specified project for the given task segment. If the project has never
+     * been built for exactly these tasks, its overall build time is returned.
+     *
+     * @param project The project, must not be {@code null}.
+     * @param taskSegment The string representation of the tasks, e.g. {@code [clean, install]}, must not be
+     *            {@code null}.
+     * @return The build time in milliseconds or {@code -1} if unknown.
+     */
+    public long getTaskSegmentTime( MavenProject project, String taskSegment )
+    {
+        long time = get( history, SEGMENT, getKey( project ) + '|' + taskSegment );
+        return ( time >= 0 ) ? time : getProjectTime( project );
+    }
+
+    /**
+     * Gets the historical execution time of the specified mojo execution within the given project.
+     *
+     * @param project The project, must not be {@code null}.
+     * @param mojoExecution The mojo execution, must not be {@code null}.
+     * @return The execution time in milliseconds or {@code -1} if unknown.
+     */
+    public long getMojoTime( MavenProject project, MojoExecution mojoExecution )
+    {
+        return get( history, MOJO, getKey( project ) + '|' + getKey( mojoExecution ) );
+    }
+
+    /**
+     * Gets the historical build times of those of the specified projects that have been built before.
+     *
+     * @param projects The projects, must not be {@code null}.
+     * @param taskSegment The string representation of the tasks or {@code null} for the overall build times.
+     * @return The build times in milliseconds, never {@code null}.
+     */
+    public Map<MavenProject, Long> getProjectTimes( Collection<MavenProject> projects, String taskSegment )
+    {
+        Map<MavenProject, Long> times = new IdentityHashMap<MavenProject, Long>();
+        for ( MavenProject project : projects )
+        {
+            long time =
+                ( taskSegment != null ) ? getTaskSegmentTime( project, taskSegment ) : getProjectTime( project );
+            if ( time >= 0 )
+            {
+                times.put( project, time );
+            }
+        }
+        return times;
+    }
+
+    /**
+     * Indicates whether any build times from previous builds are known.
+     *
+     * @return {@code true} if there is a history, {@code false} otherwise.
+     */
+    public boolean hasHistory()
+    {
+        return !history.isEmpty();
+    }
+
+    /**
+     * Records the time spent building the specified project for the given task segment in the current build.
+     *
+     * @param project The project, must not be {@code null}.
+     * @param taskSegment The string representation of the tasks, must not be {@code null}.
+     * @param time The build time in milliseconds.
+     */
+    public void addTaskSegmentTime( MavenProject project, String taskSegment, long time )
+    {
+        String key = getKey( project );
+        add( SEGMENT, key + '|' + taskSegment, time );
+        add( PROJECT, key, time );
+    }
+
+    /**
+     * Records the time spent executing the specified mojo in the current build.
+     *
+     * @param project The project, may be {@code null} in which case the time is not recorded.
+     * @param mojoExecution The mojo execution, must not be {@code null}.
+     * @param time The execution time in milliseconds.
+     */
+    public void addMojoTime( MavenProject project, MojoExecution mojoExecution, long time )
+    {
+        if ( project == null )
+        {
+            return;
+        }
+        add( MOJO, getKey( project ) + '|' + getKey( mojoExecution ), time );
+    }
+
+    private synchronized void add( String kind, String key, long time )
+    {
+        String id = kind + '\t' + key;
+        Long previous = current.get( id );
+        current.put( id, Long.valueOf( ( previous != null ) ? previous + time : time ) );
+    }
+
+    private static long get( Map<String, Long> times, String kind, String key )
+    {
+        Long time = times.get( kind + '\t' + key );
+        return ( time != null ) ? time : -1;
+    }
+
+    private static String getKey( MavenProject project )
+    {
+        return project.getGroupId() + ':' + project.getArtifactId();
+    }
+
+    private static String getKey( MojoExecution mojoExecution )
+    {
+        return mojoExecution.getGroupId() + ':' + mojoExecution.getArtifactId() + ':' + mojoExecution.getGoal() + '@'
+            + mojoExecution.getExecutionId();
+    }
+
+    /**
+     * Loads the history from the specified file, silently ignoring malformed records.
+     *
+     * @param file The history file, must not be {@code null}. A missing file denotes an empty history.
+     * @throws IOException If the file could not be read.
+     */
+    public synchronized void read( File file )
+        throws IOException
+    {
+        if ( !file.isFile() )
+        {
+            return;
+        }
+
+        BufferedReader reader = new BufferedReader( new InputStreamReader( new FileInputStream( file ), "UTF-8" ) );
+        try
+        {
+            for ( String line = reader.readLine(); line != null; line = reader.readLine() )
+            {
+                int sep = line.lastIndexOf( '\t' );
+                if ( sep <= 0 )
+                {
+                    continue;
+                }
+                long time;
+                try
+                {
+                    time = Long.parseLong( line.substring( sep + 1 ) );
+                }
+                catch ( NumberFormatException e )
+                {
+                    continue;
+                }
+                String id = line.substring( 0, sep );
+                Long previous = history.get( id );
+                // favor recent builds but smooth out outliers
+                history.put( id, Long.valueOf( ( previous != null ) ? ( previous + time ) / 2 : time ) );
+                historyRecords++;
+            }
+        }
+        finally
+        {
+            IOUtil.close( reader );
+        }
+    }
+
+    /**
+     * Appends the times recorded during the current build to the specified file. If the file has grown too large, it
+     * is rewritten to hold only the aggregated history.
+     *
+     * @param file The history file, must not be {@code null}.
+     * @throws IOException If the file could not be written.
+     */
+    public synchronized void write( File file )
+        throws IOException
+    {
+        if ( current.isEmpty() )
+        {
+            return;
+        }
+
+        boolean compact = historyRecords + current.size() > COMPACTION_RATIO * ( history.size() + current.size() );
+
+        file.getParentFile().mkdirs();
+
+        Writer writer = new OutputStreamWriter( new FileOutputStream( file, !compact ), "UTF-8" );
+        try
+        {
+            if ( compact )
+            {
+                write( writer, history );
+            }
+            write( writer, current );
+        }
+        finally
+        {
+            IOUtil.close( writer );
+        }
+    }
+
+    private static void write( Writer writer, Map<String, Long> records )
+        throws IOException
+    {
+        for ( Map.Entry<String, Long> record : records.entrySet() )
+        {
+            writer.write( record.getKey() );
+            writer.write( '\t' );
+            writer.write( record.getValue().toString() );
+            writer.write( '\n' );
+        }
+    }
+
+}
@@ -68,6 +68,8 @@ public class MavenSession
 
     private boolean parallel;
 
+    private BuildTimings buildTimings = new BuildTimings();
+
     private final Map<String, Map<String, Map<String, Object>>> pluginContextsByProjectAndPluginKey =
         new ConcurrentHashMap<String, Map<String, Map<String, Object>>>();
 
@@ -373,6 +375,22 @@ public class MavenSession
         return request.getStartTime();
     }
 
+    /**
+     * Gets the build times of the projects and mojo executions in the reactor, both from previous builds and the
+     * current one.
+     *
+     * @return The build timings, never {@code null}.
+     */
+    public BuildTimings getBuildTimings()
+    {
+        return buildTimings;
+    }
+
+    public void setBuildTimings( BuildTimings buildTimings )
+    {
+        this.buildTimings = ( buildTimings != null ) ? buildTimings : new BuildTimings();
+    }
+
     public boolean isParallel()
     {
         return parallel;
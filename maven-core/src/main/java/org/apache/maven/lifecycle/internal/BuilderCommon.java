@@ -93,6 +93,27 @@ public class BuilderCommon
         PluginDescriptorParsingException, MojoNotFoundException, InvalidPluginDescriptorException,
         NoPluginFoundForPrefixException, LifecycleNotFoundException, PluginVersionResolutionException,
         LifecycleExecutionException
+    {
+        MavenExecutionPlan executionPlan = calculateExecutionPlan( session, project, taskSegment );
+
+        // TODO: once we have calculated the build plan then we should accurately be able to download
+        // the project dependencies. Having it happen in the plugin manager is a tangled mess. We can optimize
+        // this later by looking at the build plan. Would be better to just batch download everything required
+        // by the reactor.
+
+        resolveDependencies( session, project, taskSegment, executionPlan, projectArtifacts );
+        return executionPlan;
+    }
+
+    /**
+     * Calculates the execution plan of the project without resolving the project dependencies it requires, i.e. the
+     * first half of {@link #resolveBuildPlan(MavenSession, MavenProject, TaskSegment, Set)}.
+     */
+    public MavenExecutionPlan calculateExecutionPlan( MavenSession session, MavenProject project,
+                                                      TaskSegment taskSegment )
+        throws PluginNotFoundException, PluginResolutionException, LifecyclePhaseNotFoundException,
+        PluginDescriptorParsingException, MojoNotFoundException, InvalidPluginDescriptorException,
+        NoPluginFoundForPrefixException, LifecycleNotFoundException, PluginVersionResolutionException
     {
         MavenExecutionPlan executionPlan =
             lifeCycleExecutionPlanCalculator.calculateExecutionPlan( session, project, taskSegment.getTasks() );
@@ -121,14 +142,19 @@ public class BuilderCommon
             }
         }
 
-        // TODO: once we have calculated the build plan then we should accurately be able to download
-        // the project dependencies. Having it happen in the plugin manager is a tangled mess. We can optimize
-        // this later by looking at the build plan. Would be better to just batch download everything required
-        // by the reactor.
+        return executionPlan;
+    }
 
+    /**
+     * Resolves the project dependencies required by the specified execution plan, i.e. the second half of
+     * {@link #resolveBuildPlan(MavenSession, MavenProject, TaskSegment, Set)}.
+     */
+    public void resolveDependencies( MavenSession session, MavenProject project, TaskSegment taskSegment,
+                                     MavenExecutionPlan executionPlan, Set<Artifact> projectArtifacts )
+        throws LifecycleExecutionException
+    {
         lifecycleDependencyResolver.resolveDependencies( taskSegment.isAggregating(), project, session, executionPlan,
                                                          projectArtifacts );
-        return executionPlan;
     }
 
 
@@ -0,0 +1,128 @@
+package org.apache.maven.lifecycle.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.project.MavenProject;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks projects by the length of the longest downstream chain that starts with them, so that the projects on the
+ * critical path of the reactor are scheduled first. The length of a chain is the sum of the expected build times of
+ * its projects; projects without a known build time are weighted with the average of the known times (or 1 if no
+ * times are known at all, which degrades to ranking by chain depth).
+ * <p/>
+ * Ties are broken by the position of the project in the sorted reactor, which keeps the ranking deterministic.
+ * <p/>
+ * NOTE: This class is not part of any public api and can be changed or deleted without prior notice.
+ */
+public class CriticalPathRanking
+    implements Comparator<MavenProject>
+{
+
+    private final ProjectDependencyGraph projectDependencyGraph;
+
+    private final Map<MavenProject, Long> durations;
+
+    private final long defaultDuration;
+
+    private final Map<MavenProject, Long> chainWeights = new IdentityHashMap<MavenProject, Long>();
+
+    private final Map<MavenProject, Integer> buildOrder = new IdentityHashMap<MavenProject, Integer>();
+
+    /**
+     * Creates a new ranking.
+     *
+     * @param projectDependencyGraph The reactor dependency graph, must not be {@code null}.
+     * @param durations              The expected build times in milliseconds of the projects they are known for, may
+     *                               be {@code null} or incomplete.
+     */
+    public CriticalPathRanking( ProjectDependencyGraph projectDependencyGraph, Map<MavenProject, Long> durations )
+    {
+        this.projectDependencyGraph = projectDependencyGraph;
+        this.durations = ( durations != null ) ? durations : new IdentityHashMap<MavenProject, Long>();
+
+        long total = 0;
+        for ( Long duration : this.durations.values() )
+        {
+            total += duration;
+        }
+        this.defaultDuration = this.durations.isEmpty() ? 1 : Math.max( 1, total / this.durations.size() );
+
+        List<MavenProject> sortedProjects = projectDependencyGraph.getSortedProjects();
+        for ( int i = 0; i < sortedProjects.size(); i++ )
+        {
+            buildOrder.put( sortedProjects.get( i ), i );
+        }
+    }
+
+    /**
+     * Gets the weight of the heaviest downstream chain starting with (and including) the specified project.
+     *
+     * @param project The project, must not be {@code null}.
+     * @return The chain weight.
+     */
+    public synchronized long getChainWeight( MavenProject project )
+    {
+        Long weight = chainWeights.get( project );
+        if ( weight == null )
+        {
+            long heaviestDownstream = 0;
+            for ( MavenProject downstream : projectDependencyGraph.getDownstreamProjects( project, false ) )
+            {
+                heaviestDownstream = Math.max( heaviestDownstream, getChainWeight( downstream ) );
+            }
+            weight = getDuration( project ) + heaviestDownstream;
+            chainWeights.put( project, weight );
+        }
+        return weight;
+    }
+
+    private long getDuration( MavenProject project )
+    {
+        Long duration = durations.get( project );
+        return ( duration != null ) ? Math.max( 1, duration ) : defaultDuration;
+    }
+
+    /**
+     * Orders projects by descending chain weight, i.e. the project that should be started first comes first.
+     */
+    public int compare( MavenProject o1, MavenProject o2 )
+    {
+        long w1 = getChainWeight( o1 );
+        long w2 = getChainWeight( o2 );
+        if ( w1 != w2 )
+        {
+            return ( w1 > w2 ) ? -1 : 1;
+        }
+        return getBuildOrder( o1 ) - getBuildOrder( o2 );
+    }
+
+    private int getBuildOrder( MavenProject project )
+    {
+        Integer index = buildOrder.get( project );
+        return ( index != null ) ? index : Integer.MAX_VALUE / 2;
+    }
+
+}
@@ -88,6 +88,9 @@ public class LifecycleModuleBuilder
 
             long buildEndTime = System.currentTimeMillis();
 
+            session.getBuildTimings().addTaskSegmentTime( currentProject, taskSegment.toString(),
+                                                          buildEndTime - buildStartTime );
+
             reactorContext.getResult().addBuildSummary(
                 new BuildSuccess( currentProject, buildEndTime - buildStartTime ) );
 
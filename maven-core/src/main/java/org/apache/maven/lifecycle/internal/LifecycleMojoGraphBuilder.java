@@ -0,0 +1,316 @@
+package org.apache.maven.lifecycle.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.BuildSuccess;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.LifecycleExecutionException;
+import org.apache.maven.lifecycle.MavenExecutionPlan;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.component.annotations.Requirement;
+import org.codehaus.plexus.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Builds the reactor by scheduling individual mojo executions rather than whole projects. The mojo executions of all
+ * projects of a task segment are arranged in a {@link MojoExecutionGraph}, where a project may start as soon as its
+ * upstream projects have been packaged, i.e. the remaining mojos of an upstream project (e.g. install or integration
+ * tests) overlap with the build of its downstream projects. The mojos of a single project are still executed one
+ * after the other.
+ * <p/>
+ * NOTE: This mode is experimental and only used when the user property {@code maven3.mojoGraphMode} is set.
+ * <p/>
+ * NOTE: This class is not part of any public api and can be changed or deleted without prior notice.
+ */
+@Component( role = LifecycleMojoGraphBuilder.class )
+public class LifecycleMojoGraphBuilder
+{
+
+    @Requirement
+    private MojoExecutor mojoExecutor;
+
+    @Requirement
+    private BuilderCommon builderCommon;
+
+    @Requirement
+    private Logger logger;
+
+    @Requirement
+    private ExecutionEventCatapult eventCatapult;
+
+    @SuppressWarnings( { "UnusedDeclaration" } )
+    public LifecycleMojoGraphBuilder()
+    {
+    }
+
+    public LifecycleMojoGraphBuilder( MojoExecutor mojoExecutor, BuilderCommon builderCommon, Logger logger,
+                                      ExecutionEventCatapult eventCatapult )
+    {
+        this.mojoExecutor = mojoExecutor;
+        this.builderCommon = builderCommon;
+        this.logger = logger;
+        this.eventCatapult = eventCatapult;
+    }
+
+    public void build( MavenSession rootSession, ReactorContext reactorContext, ProjectBuildList projectBuilds,
+                       List<TaskSegment> taskSegments, CompletionService<MojoExecutionGraph.Node> service )
+        throws ExecutionException, InterruptedException
+    {
+        try
+        {
+            for ( TaskSegment taskSegment : taskSegments )
+            {
+                buildTaskSegment( rootSession, reactorContext, projectBuilds.getByTaskSegment( taskSegment ),
+                                  service );
+
+                if ( reactorContext.getReactorBuildStatus().isHalted() )
+                {
+                    break;
+                }
+            }
+        }
+        finally
+        {
+            projectBuilds.closeAll();
+        }
+    }
+
+    private void buildTaskSegment( MavenSession rootSession, ReactorContext reactorContext,
+                                   ProjectBuildList segmentChunks, CompletionService<MojoExecutionGraph.Node> service )
+        throws ExecutionException, InterruptedException
+    {
+        List<ProjectSegment> projectSegments = new ArrayList<ProjectSegment>();
+        Map<MavenProject, MavenExecutionPlan> executionPlans =
+            new IdentityHashMap<MavenProject, MavenExecutionPlan>();
+        Map<MavenProject, ProjectBuildState> states = new IdentityHashMap<MavenProject, ProjectBuildState>();
+
+        for ( ProjectSegment projectSegment : segmentChunks )
+        {
+            MavenProject project = projectSegment.getProject();
+            long buildStartTime = System.currentTimeMillis();
+            try
+            {
+                BuilderCommon.attachToThread( project );
+                MavenExecutionPlan executionPlan =
+                    builderCommon.calculateExecutionPlan( projectSegment.getSession(), project,
+                                                          projectSegment.getTaskSegment() );
+                executionPlans.put( project, executionPlan );
+                states.put( project,
+                            new ProjectBuildState( project, executionPlan, projectSegment.getTaskSegment() ) );
+                projectSegments.add( projectSegment );
+            }
+            catch ( Exception e )
+            {
+                builderCommon.handleBuildError( reactorContext, rootSession, project, e, buildStartTime );
+            }
+            finally
+            {
+                Thread.currentThread().setContextClassLoader( reactorContext.getOriginalContextClassLoader() );
+            }
+        }
+
+        MojoExecutionGraph graph =
+            new MojoExecutionGraph( projectSegments, executionPlans, rootSession.getProjectDependencyGraph() );
+        if ( logger.isDebugEnabled() )
+        {
+            logger.debug( "Scheduling " + graph.size() + " nodes of mojo execution graph" );
+        }
+
+        int running = 0;
+        for ( MojoExecutionGraph.Node node : graph.getRootSchedulableNodes() )
+        {
+            service.submit( createCallable( rootSession, reactorContext, node, states ) );
+            running++;
+        }
+
+        while ( running > 0 )
+        {
+            MojoExecutionGraph.Node finished = service.take().get();
+            running--;
+
+            if ( reactorContext.getReactorBuildStatus().isHalted() )
+            {
+                // drain the executions in progress but do not start new ones
+                continue;
+            }
+
+            for ( MojoExecutionGraph.Node node : graph.markAsFinished( finished ) )
+            {
+                service.submit( createCallable( rootSession, reactorContext, node, states ) );
+                running++;
+            }
+        }
+    }
+
+    private Callable<MojoExecutionGraph.Node> createCallable( final MavenSession rootSession,
+                                                              final ReactorContext reactorContext,
+                                                              final MojoExecutionGraph.Node node,
+                                                              final Map<MavenProject, ProjectBuildState> states )
+    {
+        return new Callable<MojoExecutionGraph.Node>()
+        {
+            public MojoExecutionGraph.Node call()
+            {
+                ProjectSegment projectSegment = node.getProjectSegment();
+                ProjectBuildState state = states.get( projectSegment.getProject() );
+                execute( rootSession, reactorContext, node, state );
+                return node;
+            }
+        };
+    }
+
+    private void execute( MavenSession rootSession, ReactorContext reactorContext, MojoExecutionGraph.Node node,
+                          ProjectBuildState state )
+    {
+        ProjectSegment projectSegment = node.getProjectSegment();
+        MavenProject project = projectSegment.getProject();
+        MavenSession session = projectSegment.getSession();
+
+        if ( state.done )
+        {
+            return;
+        }
+
+        session.setCurrentProject( project );
+        try
+        {
+            if ( node.isProjectStart() )
+            {
+                state.buildStartTime = System.currentTimeMillis();
+
+                if ( reactorContext.getReactorBuildStatus().isHaltedOrBlacklisted( project ) )
+                {
+                    state.done = true;
+                    eventCatapult.fire( ExecutionEvent.Type.ProjectSkipped, session, null );
+                    return;
+                }
+
+                if ( !node.getUnbuiltUpstreamProjects().isEmpty() )
+                {
+                    throw new LifecycleExecutionException( "Cannot build " + project.getId()
+                        + " because its upstream projects " + getIds( node.getUnbuiltUpstreamProjects() )
+                        + " have not been built", project );
+                }
+
+                eventCatapult.fire( ExecutionEvent.Type.ProjectStarted, session, null );
+
+                BuilderCommon.attachToThread( project );
+                builderCommon.resolveDependencies( session, project, state.taskSegment, state.executionPlan,
+                                                   new HashSet<Artifact>() );
+            }
+            else if ( node.isProjectEnd() )
+            {
+                state.done = true;
+
+                long buildTime = System.currentTimeMillis() - state.buildStartTime;
+                session.getBuildTimings().addTaskSegmentTime( project, state.taskSegment.toString(), buildTime );
+                reactorContext.getResult().addBuildSummary( new BuildSuccess( project, buildTime ) );
+
+                eventCatapult.fire( ExecutionEvent.Type.ProjectSucceeded, session, null );
+            }
+            else
+            {
+                if ( reactorContext.getReactorBuildStatus().isHalted() )
+                {
+                    state.done = true;
+                    return;
+                }
+
+                BuilderCommon.attachToThread( project );
+                mojoExecutor.execute( session, node.getPlanItem().getMojoExecution(), reactorContext.getProjectIndex(),
+                                      state.dependencyContext, state.phaseRecorder );
+            }
+        }
+        catch ( Exception e )
+        {
+            state.done = true;
+            builderCommon.handleBuildError( reactorContext, rootSession, project, e, state.buildStartTime );
+        }
+        finally
+        {
+            session.setCurrentProject( null );
+
+            Thread.currentThread().setContextClassLoader( reactorContext.getOriginalContextClassLoader() );
+        }
+    }
+
+    private static List<String> getIds( List<MavenProject> projects )
+    {
+        List<String> ids = new ArrayList<String>( projects.size() );
+        for ( MavenProject project : projects )
+        {
+            ids.add( project.getId() );
+        }
+        return ids;
+    }
+
+    public static boolean isMojoGraphMode( MavenExecutionRequest request )
+    {
+        return "true".equals( request.getUserProperties().getProperty( "maven3.mojoGraphMode" ) );
+    }
+
+    public static void setMojoGraphMode( Properties properties )
+    {
+        properties.setProperty( "maven3.mojoGraphMode", "true" );
+    }
+
+    /**
+     * The state of a single project build, shared by the nodes of the project. As these nodes are executed strictly
+     * one after the other (albeit possibly by different threads), no further synchronization is required.
+     */
+    private static class ProjectBuildState
+    {
+
+        final MavenExecutionPlan executionPlan;
+
+        final TaskSegment taskSegment;
+
+        final DependencyContext dependencyContext;
+
+        final PhaseRecorder phaseRecorder;
+
+        volatile long buildStartTime;
+
+        volatile boolean done;
+
+        ProjectBuildState( MavenProject project, MavenExecutionPlan executionPlan, TaskSegment taskSegment )
+        {
+            this.executionPlan = executionPlan;
+            this.taskSegment = taskSegment;
+            this.dependencyContext = new DependencyContext( executionPlan, taskSegment.isAggregating() );
+            this.phaseRecorder = new PhaseRecorder( project );
+        }
+
+    }
+
+}
@@ -64,6 +64,9 @@ public class LifecycleStarter
     @Requirement
     private LifecycleThreadedBuilder lifecycleThreadedBuilder;
 
+    @Requirement
+    private LifecycleMojoGraphBuilder lifecycleMojoGraphBuilder;
+
     @Requirement
     private BuildListCalculator buildListCalculator;
 
@@ -122,10 +125,10 @@ public class LifecycleStarter
 
             if ( isThreaded )
             {
-                ExecutorService executor =
-                    threadConfigService.getExecutorService( executionRequest.getThreadCount(),
-                                                            executionRequest.isPerCoreThreadCount(),
-                                                            session.getProjects().size() );
+                Integer threadCount = threadConfigService.getThreadCount( executionRequest.getThreadCount(),
+                                                                          executionRequest.isPerCoreThreadCount(),
+                                                                          session.getProjects().size() );
+                ExecutorService executor = threadConfigService.getExecutorService( threadCount );
                 try
                 {
 
@@ -136,6 +139,14 @@ public class LifecycleStarter
                         lifeCycleWeaveBuilder.build( projectBuilds, callableContext, taskSegments, session, executor,
                                                      reactorBuildStatus );
                     }
+                    else if ( LifecycleMojoGraphBuilder.isMojoGraphMode( executionRequest ) )
+                    {
+                        CompletionService<MojoExecutionGraph.Node> service =
+                            new ExecutorCompletionService<MojoExecutionGraph.Node>( executor );
+
+                        lifecycleMojoGraphBuilder.build( session, callableContext, projectBuilds, taskSegments,
+                                                         service );
+                    }
                     else
                     {
                         ConcurrencyDependencyGraph analyzer =
@@ -145,7 +156,7 @@ public class LifecycleStarter
                             new ExecutorCompletionService<ProjectSegment>( executor );
 
                         lifecycleThreadedBuilder.build( session, callableContext, projectBuilds, taskSegments, analyzer,
-                                                        service );
+                                                        service, threadCount );
                     }
                 }
                 finally
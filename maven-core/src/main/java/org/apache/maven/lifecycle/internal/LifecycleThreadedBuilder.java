@@ -19,14 +19,20 @@ package org.apache.maven.lifecycle.internal;
  * under the License.
  */
 
+import org.apache.maven.execution.BuildSummary;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionResult;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.Logger;
 
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
@@ -60,6 +66,22 @@ public class LifecycleThreadedBuilder
                        List<TaskSegment> currentTaskSegment, ConcurrencyDependencyGraph analyzer,
                        CompletionService<ProjectSegment> service )
     {
+        build( session, reactorContext, projectBuilds, currentTaskSegment, analyzer, service, null );
+    }
+
+    /**
+     * Builds the task segments, starting each project as soon as its upstream projects are done.
+     *
+     * @param threadCount The number of threads of the executor behind the completion service, only used in critical
+     *                    path mode to bound the number of submitted builds. May be {@code null} if unlimited.
+     */
+    public void build( MavenSession session, ReactorContext reactorContext, ProjectBuildList projectBuilds,
+                       List<TaskSegment> currentTaskSegment, ConcurrencyDependencyGraph analyzer,
+                       CompletionService<ProjectSegment> service, Integer threadCount )
+    {
+        final boolean criticalPathMode = isCriticalPathMode( session.getRequest() );
+        final int maxConcurrentBuilds =
+            ( criticalPathMode && threadCount != null ) ? Math.max( 1, threadCount ) : Integer.MAX_VALUE;
 
         // Currently disabled
         ThreadOutputMuxer muxer = null; // new ThreadOutputMuxer( analyzer.getProjectBuilds(), System.out );
@@ -69,8 +91,11 @@ public class LifecycleThreadedBuilder
             Map<MavenProject, ProjectSegment> projectBuildMap = projectBuilds.selectSegment( taskSegment );
                 try
                 {
+                Queue<MavenProject> readyProjects = criticalPathMode
+                    ? new PriorityQueue<MavenProject>( 11, createRanking( session, reactorContext, taskSegment ) )
+                    : new LinkedList<MavenProject>();
                 multiThreadedProjectTaskSegmentBuild( analyzer, reactorContext, session, service, taskSegment,
-                                                      projectBuildMap, muxer );
+                                                      projectBuildMap, muxer, readyProjects, maxConcurrentBuilds );
                     if ( reactorContext.getReactorBuildStatus().isHalted( ) )
                     {
                         break;
@@ -89,39 +114,31 @@ public class LifecycleThreadedBuilder
                                                        CompletionService<ProjectSegment> service,
                                                        TaskSegment taskSegment,
                                                        Map<MavenProject, ProjectSegment> projectBuildList,
-                                                       ThreadOutputMuxer muxer )
+                                                       ThreadOutputMuxer muxer, Queue<MavenProject> readyProjects,
+                                                       int maxConcurrentBuilds )
     {
 
         // schedule independent projects
-        for ( MavenProject mavenProject : analyzer.getRootSchedulableBuilds() )
-        {
-            ProjectSegment projectSegment = projectBuildList.get( mavenProject );
-            logger.debug( "Scheduling: " + projectSegment.getProject() );
-            Callable<ProjectSegment> cb =
-                createBuildCallable( rootSession, projectSegment, reactorContext, taskSegment, muxer );
-            service.submit( cb );
-        }
+        readyProjects.addAll( analyzer.getRootSchedulableBuilds() );
+        int running =
+            submitReadyProjects( readyProjects, 0, maxConcurrentBuilds, reactorContext, rootSession, service,
+                                 taskSegment, projectBuildList, muxer );
 
         // for each finished project
-        for ( int i = 0; i < analyzer.getNumberOfBuilds(); i++ )
+        for ( int i = 0; i < analyzer.getNumberOfBuilds() && running > 0; i++ )
         {
             try
             {
                 ProjectSegment projectBuild = service.take().get();
+                running--;
                 if ( reactorContext.getReactorBuildStatus().isHalted() )
                 {
                     break;
                 }
-                final List<MavenProject> newItemsThatCanBeBuilt =
-                    analyzer.markAsFinished( projectBuild.getProject() );
-                for ( MavenProject mavenProject : newItemsThatCanBeBuilt )
-                {
-                    ProjectSegment scheduledDependent = projectBuildList.get( mavenProject );
-                    logger.debug( "Scheduling: " + scheduledDependent );
-                    Callable<ProjectSegment> cb =
-                        createBuildCallable( rootSession, scheduledDependent, reactorContext, taskSegment, muxer );
-                    service.submit( cb );
-                }
+                readyProjects.addAll( analyzer.markAsFinished( projectBuild.getProject() ) );
+                running +=
+                    submitReadyProjects( readyProjects, running, maxConcurrentBuilds, reactorContext, rootSession,
+                                         service, taskSegment, projectBuildList, muxer );
             }
             catch ( InterruptedException e )
             {
@@ -153,6 +170,43 @@ public class LifecycleThreadedBuilder
         }
     }
 
+    private int submitReadyProjects( Queue<MavenProject> readyProjects, int running, int maxConcurrentBuilds,
+                                     ReactorContext reactorContext, MavenSession rootSession,
+                                     CompletionService<ProjectSegment> service, TaskSegment taskSegment,
+                                     Map<MavenProject, ProjectSegment> projectBuildList, ThreadOutputMuxer muxer )
+    {
+        int submitted = 0;
+        while ( running + submitted < maxConcurrentBuilds && !readyProjects.isEmpty() )
+        {
+            ProjectSegment projectSegment = projectBuildList.get( readyProjects.poll() );
+            logger.debug( "Scheduling: " + projectSegment );
+            Callable<ProjectSegment> cb =
+                createBuildCallable( rootSession, projectSegment, reactorContext, taskSegment, muxer );
+            service.submit( cb );
+            submitted++;
+        }
+        return submitted;
+    }
+
+    private CriticalPathRanking createRanking( MavenSession session, ReactorContext reactorContext,
+                                               TaskSegment taskSegment )
+    {
+        // prefer the times of previous builds, projects already built in an earlier task segment of this build give
+        // us at least a hint of their relative cost
+        Map<MavenProject, Long> durations =
+            session.getBuildTimings().getProjectTimes( session.getProjects(), taskSegment.toString() );
+        MavenExecutionResult result = reactorContext.getResult();
+        for ( MavenProject project : session.getProjects() )
+        {
+            BuildSummary summary = result.getBuildSummary( project );
+            if ( summary != null && !durations.containsKey( project ) )
+            {
+                durations.put( project, summary.getTime() );
+            }
+        }
+        return new CriticalPathRanking( session.getProjectDependencyGraph(), durations );
+    }
+
     private Callable<ProjectSegment> createBuildCallable( final MavenSession rootSession,
                                                           final ProjectSegment projectBuild,
                                                           final ReactorContext reactorContext,
@@ -171,4 +225,9 @@ public class LifecycleThreadedBuilder
             }
         };
     }
+
+    public static boolean isCriticalPathMode( MavenExecutionRequest request )
+    {
+        return "true".equals( request.getUserProperties().getProperty( "maven3.criticalPathScheduling" ) );
+    }
 }
\ No newline at end of file
@@ -35,6 +35,7 @@ import org.codehaus.plexus.logging.Logger;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -135,7 +136,7 @@ public class LifecycleWeaveBuilder
                     executionPlans.put( projectSegment.getProject(), plans.get( projectSegment ).get() );
 
                 }
-                for ( ProjectSegment projectBuild : segmentChunks )
+                for ( ProjectSegment projectBuild : getByExpectedChainLength( segmentChunks, session, taskSegment ) )
                 {
                     try
                     {
@@ -171,6 +172,37 @@ public class LifecycleWeaveBuilder
         logger.info( concurrentBuildLogger.toString() );
     }
 
+    /**
+     * Orders the projects so that those heading the longest chains of downstream work (according to the build times
+     * of previous builds) get a thread first. Since an upstream project always outweighs its downstream projects, this
+     * preserves the topological order the weave relies on.
+     */
+    private List<ProjectSegment> getByExpectedChainLength( ProjectBuildList segmentChunks, MavenSession session,
+                                                           TaskSegment taskSegment )
+    {
+        final Map<MavenProject, ProjectSegment> segmentsByProject = new HashMap<MavenProject, ProjectSegment>();
+        List<MavenProject> projects = new ArrayList<MavenProject>();
+        for ( ProjectSegment segmentChunk : segmentChunks )
+        {
+            segmentsByProject.put( segmentChunk.getProject(), segmentChunk );
+            projects.add( segmentChunk.getProject() );
+        }
+
+        if ( session.getBuildTimings().hasHistory() && session.getProjectDependencyGraph() != null )
+        {
+            Map<MavenProject, Long> durations =
+                session.getBuildTimings().getProjectTimes( projects, taskSegment.toString() );
+            Collections.sort( projects, new CriticalPathRanking( session.getProjectDependencyGraph(), durations ) );
+        }
+
+        List<ProjectSegment> result = new ArrayList<ProjectSegment>( projects.size() );
+        for ( MavenProject project : projects )
+        {
+            result.add( segmentsByProject.get( project ) );
+        }
+        return result;
+    }
+
     private Callable<MavenExecutionPlan> createEPFuture( final ProjectSegment projectSegment,
                                                          final Set<Artifact> projectArtifacts )
     {
@@ -254,6 +286,9 @@ public class LifecycleWeaveBuilder
                         current = nextPlanItem;
                     }
 
+                    projectBuild.getSession().getBuildTimings().addTaskSegmentTime(
+                        projectBuild.getProject(), projectBuild.getTaskSegment().toString(), totalMojoTime );
+
                     final BuildSuccess summary =
                         new BuildSuccess( projectBuild.getProject(), totalMojoTime ); // - waitingTime
                     reactorContext.getResult().addBuildSummary( summary );
@@ -0,0 +1,290 @@
+package org.apache.maven.lifecycle.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.lifecycle.MavenExecutionPlan;
+import org.apache.maven.project.MavenProject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The mojo executions of all projects of a task segment, arranged in a directed acyclic graph. Each project
+ * contributes a chain of nodes: a start node (which resolves the project dependencies), one node per
+ * {@link ExecutionPlanItem} in plan order and an end node. The start node of a project depends on the node of each
+ * upstream project that completes its {@link #UPSTREAM_PHASE} phase (as that is when
+ * {@link org.apache.maven.ReactorArtifactRepository} can serve the upstream artifact), where a plan that stops short of
+ * this phase is completed by its last mojo of an earlier phase (see {@link MavenExecutionPlan#findLastInPhase(String)})
+ * and a plan outside of the default lifecycle only by its end node. Hence the remaining phases of an upstream project
+ * (e.g. install) overlap with the build of its downstream projects. An upstream project without nodes (e.g. because
+ * its execution plan could not be calculated) is recorded by the start node of the downstream project, which must not
+ * be built then (see {@link Node#getUnbuiltUpstreamProjects()}).
+ * <p/>
+ * Instances are not thread-safe, {@link #markAsFinished(Node)} must be called by a single coordinating thread.
+ * <p/>
+ * NOTE: This class is not part of any public api and can be changed or deleted without prior notice.
+ */
+public class MojoExecutionGraph
+{
+
+    /**
+     * The phase of an upstream project that needs to be completed before its downstream projects can start.
+     */
+    public static final String UPSTREAM_PHASE = "package";
+
+    private final List<Node> nodes = new ArrayList<Node>();
+
+    private final Map<MavenProject, List<Node>> nodesByProject = new IdentityHashMap<MavenProject, List<Node>>();
+
+    /**
+     * Creates the graph for the specified project segments.
+     *
+     * @param projectSegments        The project segments of the task segment, in build order, must not be {@code null}.
+     * @param executionPlans         The execution plans of the projects, must not be {@code null}.
+     * @param projectDependencyGraph The reactor dependency graph, must not be {@code null}.
+     */
+    public MojoExecutionGraph( List<ProjectSegment> projectSegments,
+                               Map<MavenProject, MavenExecutionPlan> executionPlans,
+                               ProjectDependencyGraph projectDependencyGraph )
+    {
+        for ( ProjectSegment projectSegment : projectSegments )
+        {
+            MavenExecutionPlan executionPlan = executionPlans.get( projectSegment.getProject() );
+
+            List<Node> chain = new ArrayList<Node>( executionPlan.size() + 2 );
+            chain.add( new Node( projectSegment, null, Node.START ) );
+            for ( ExecutionPlanItem planItem : executionPlan )
+            {
+                chain.add( new Node( projectSegment, planItem, Node.MOJO ) );
+            }
+            chain.add( new Node( projectSegment, null, Node.END ) );
+
+            for ( int i = 1; i < chain.size(); i++ )
+            {
+                chain.get( i - 1 ).addSuccessor( chain.get( i ) );
+            }
+
+            nodes.addAll( chain );
+            nodesByProject.put( projectSegment.getProject(), chain );
+        }
+
+        for ( ProjectSegment projectSegment : projectSegments )
+        {
+            Node start = nodesByProject.get( projectSegment.getProject() ).get( 0 );
+            for ( MavenProject upstream : projectDependencyGraph.getUpstreamProjects( projectSegment.getProject(),
+                                                                                      false ) )
+            {
+                Node gate = getUpstreamGate( upstream, executionPlans.get( upstream ) );
+                if ( gate != null )
+                {
+                    gate.addSuccessor( start );
+                }
+                else
+                {
+                    start.addUnbuiltUpstreamProject( upstream );
+                }
+            }
+        }
+    }
+
+    private Node getUpstreamGate( MavenProject upstream, MavenExecutionPlan executionPlan )
+    {
+        List<Node> chain = nodesByProject.get( upstream );
+        if ( chain == null )
+        {
+            // not part of this task segment, i.e. not built at all
+            return null;
+        }
+
+        ExecutionPlanItem lastInPhase =
+            ( executionPlan != null ) ? executionPlan.findLastInPhase( UPSTREAM_PHASE ) : null;
+        if ( lastInPhase != null )
+        {
+            for ( Node node : chain )
+            {
+                if ( node.getPlanItem() == lastInPhase )
+                {
+                    return node;
+                }
+            }
+        }
+
+        return chain.get( chain.size() - 1 );
+    }
+
+    /**
+     * Gets the total number of nodes in the graph.
+     *
+     * @return The number of nodes.
+     */
+    public int size()
+    {
+        return nodes.size();
+    }
+
+    /**
+     * Gets the nodes of the specified project in execution order.
+     *
+     * @param project The project, must not be {@code null}.
+     * @return The nodes of the project, never {@code null}.
+     */
+    public List<Node> getNodes( MavenProject project )
+    {
+        List<Node> chain = nodesByProject.get( project );
+        return ( chain != null ) ? Collections.unmodifiableList( chain ) : Collections.<Node>emptyList();
+    }
+
+    /**
+     * Gets the nodes that have no predecessors, in build order.
+     *
+     * @return The initially schedulable nodes, never {@code null}.
+     */
+    public List<Node> getRootSchedulableNodes()
+    {
+        List<Node> result = new ArrayList<Node>();
+        for ( Node node : nodes )
+        {
+            if ( node.pendingPredecessors == 0 )
+            {
+                result.add( node );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Marks the provided node as finished.
+     *
+     * @param node The finished node, must not be {@code null}.
+     * @return The nodes that are eligible for starting now that the provided node is done.
+     */
+    public List<Node> markAsFinished( Node node )
+    {
+        List<Node> result = new ArrayList<Node>();
+        for ( Node successor : node.successors )
+        {
+            successor.pendingPredecessors--;
+            if ( successor.pendingPredecessors == 0 )
+            {
+                result.add( successor );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A node of the graph, i.e. either a mojo execution or the start/end of a project build.
+     */
+    public static final class Node
+    {
+
+        static final int START = 0;
+
+        static final int MOJO = 1;
+
+        static final int END = 2;
+
+        private final ProjectSegment projectSegment;
+
+        private final ExecutionPlanItem planItem;
+
+        private final int kind;
+
+        private final List<Node> successors = new ArrayList<Node>( 2 );
+
+        private int pendingPredecessors;
+
+        private List<MavenProject> unbuiltUpstreamProjects = Collections.emptyList();
+
+        Node( ProjectSegment projectSegment, ExecutionPlanItem planItem, int kind )
+        {
+            this.projectSegment = projectSegment;
+            this.planItem = planItem;
+            this.kind = kind;
+        }
+
+        void addSuccessor( Node successor )
+        {
+            successors.add( successor );
+            successor.pendingPredecessors++;
+        }
+
+        void addUnbuiltUpstreamProject( MavenProject upstream )
+        {
+            if ( unbuiltUpstreamProjects.isEmpty() )
+            {
+                unbuiltUpstreamProjects = new ArrayList<MavenProject>( 2 );
+            }
+            unbuiltUpstreamProjects.add( upstream );
+        }
+
+        public ProjectSegment getProjectSegment()
+        {
+            return projectSegment;
+        }
+
+        /**
+         * @return The plan item to execute or {@code null} for the start/end nodes.
+         */
+        public ExecutionPlanItem getPlanItem()
+        {
+            return planItem;
+        }
+
+        public boolean isProjectStart()
+        {
+            return kind == START;
+        }
+
+        public boolean isProjectEnd()
+        {
+            return kind == END;
+        }
+
+        /**
+         * Gets the upstream projects of a project start node that are not built by the graph. The scheduling does not
+         * wait for these projects, so the project must fail rather than be built against missing artifacts.
+         *
+         * @return The unbuilt upstream projects, never {@code null}.
+         */
+        public List<MavenProject> getUnbuiltUpstreamProjects()
+        {
+            return Collections.unmodifiableList( unbuiltUpstreamProjects );
+        }
+
+        public List<Node> getSuccessors()
+        {
+            return Collections.unmodifiableList( successors );
+        }
+
+        @Override
+        public String toString()
+        {
+            String what = ( kind == START ) ? "start" : ( kind == END ) ? "end" : planItem.getMojoExecution().toString();
+            return projectSegment.getProject().getId() + " " + what;
+        }
+
+    }
+
+}
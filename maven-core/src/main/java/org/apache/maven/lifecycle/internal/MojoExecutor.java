@@ -139,6 +139,8 @@ public class MojoExecutor
 
         try
         {
+            long mojoStartTime = System.currentTimeMillis();
+
             try
             {
                 pluginManager.executeMojo( session, mojoExecution );
@@ -160,6 +162,9 @@ public class MojoExecutor
                 throw new LifecycleExecutionException( mojoExecution, session.getCurrentProject(), e );
             }
 
+            session.getBuildTimings().addMojoTime( session.getCurrentProject(), mojoExecution,
+                                                   System.currentTimeMillis() - mojoStartTime );
+
             eventCatapult.fire( ExecutionEvent.Type.MojoSucceeded, session, mojoExecution );
         }
         catch ( LifecycleExecutionException e )
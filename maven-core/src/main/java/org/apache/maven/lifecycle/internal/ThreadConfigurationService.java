@@ -57,7 +57,7 @@ public class ThreadConfigurationService
 
     }
 
-    private ExecutorService getExecutorService( Integer threadCount )
+    public ExecutorService getExecutorService( Integer threadCount )
     {
         if ( threadCount == null )
         {
@@ -19,32 +19,138 @@ package org.apache.maven.plugin;
  * under the License.
  */
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Exclusion;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.PlexusContainer;
+import org.codehaus.plexus.PlexusContainerException;
 import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.classworlds.realm.NoSuchRealmException;
 import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.component.annotations.Requirement;
+import org.codehaus.plexus.logging.Logger;
 
 /**
- * Default PluginCache implementation. Assumes cached data does not change.
+ * Default PluginCache implementation. Assumes cached data does not change. The realms are shared by all projects
+ * whose plugin setup yields the same cache key and the builds using a realm are tracked via
+ * {@link #register(MavenSession, CacheRecord)}. Once all of its builds have been released, a realm becomes idle and
+ * may be disposed when the total weight of the cached realms exceeds the budget given by the system property
+ * {@code maven.pluginRealmCache.maxWeight}. The weight of a realm is the size of the files on its class path, which
+ * is the best estimate of the memory its classes occupy that is available without instrumentation. Idle realms are
+ * evicted least recently released first.
  */
 @Component( role = PluginRealmCache.class )
 public class DefaultPluginRealmCache
     implements PluginRealmCache
 {
 
-    protected static class CacheKey
+    /**
+     * Some statistics about the usage of the cache, e.g. for embedders to monitor the memory held by plugin realms.
+     */
+    public static class CacheStats
+    {
+
+        public final int realms;
+
+        public final int idleRealms;
+
+        public final long weight;
+
+        public final long hits;
+
+        public final long misses;
+
+        public final long evictions;
+
+        CacheStats( int realms, int idleRealms, long weight, long hits, long misses, long evictions )
+        {
+            this.realms = realms;
+            this.idleRealms = idleRealms;
+            this.weight = weight;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        @Override
+        public String toString()
+        {
+            return realms + " plugin realms (" + idleRealms + " idle, " + weight + " bytes), " + hits + " hits, "
+                + misses + " misses, " + evictions + " evictions";
+        }
+
+    }
+
+    /**
+     * A cache record that also tracks its users.
+     */
+    private static class PooledRecord
+        extends CacheRecord
+    {
+
+        final CacheKey key;
+
+        final long weight;
+
+        /**
+         * The builds or projects using the record, see {@link DefaultPluginRealmCache#getBuildKey(MavenSession)}.
+         */
+        final Map<Object, Object> users = new IdentityHashMap<Object, Object>();
+
+        /**
+         * The tick of the last lookup, a record that has been looked up since it became idle is about to be used again.
+         */
+        long lastAccess;
+
+        /**
+         * The tick when the last user was released or {@code Long.MAX_VALUE} while the record is in use.
+         */
+        long idleSince = Long.MAX_VALUE;
+
+        boolean evicted;
+
+        PooledRecord( CacheKey key, ClassRealm realm, List<Artifact> artifacts )
+        {
+            super( realm, artifacts );
+            this.key = key;
+
+            long weight = 0;
+            for ( Artifact artifact : artifacts )
+            {
+                File file = artifact.getFile();
+                if ( file != null )
+                {
+                    weight += file.length();
+                }
+            }
+            this.weight = weight;
+        }
+
+        boolean isIdle()
+        {
+            return users.isEmpty() && lastAccess < idleSince;
+        }
+
+    }
+
+    public static class CacheKey
     {
         private final Plugin plugin;
 
@@ -107,12 +213,57 @@ public class DefaultPluginRealmCache
 
     protected final Map<CacheKey, CacheRecord> cache = new ConcurrentHashMap<CacheKey, CacheRecord>();
 
+    @Requirement
+    private PlexusContainer container;
+
+    @Requirement
+    private Logger logger;
+
+    private final long maxWeight = Long.getLong( "maven.pluginRealmCache.maxWeight", 256L * 1024 * 1024 ).longValue();
+
+    private final AtomicLong ticks = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
     public CacheRecord get( Plugin plugin, ClassLoader parentRealm, List<String> parentImports,
                             ArtifactFilter dependencyFilter, ArtifactRepository localRepository,
                             List<ArtifactRepository> remoteRepositories )
     {
-        return cache.get( new CacheKey( plugin, parentRealm, parentImports, dependencyFilter, localRepository,
-                                        remoteRepositories ) );
+        CacheRecord record =
+            cache.get( new CacheKey( plugin, parentRealm, parentImports, dependencyFilter, localRepository,
+                                     remoteRepositories ) );
+
+        if ( record instanceof PooledRecord )
+        {
+            PooledRecord pooledRecord = (PooledRecord) record;
+
+            synchronized ( pooledRecord )
+            {
+                if ( pooledRecord.evicted )
+                {
+                    record = null;
+                }
+                else
+                {
+                    pooledRecord.lastAccess = ticks.incrementAndGet();
+                }
+            }
+        }
+
+        if ( record != null )
+        {
+            hits.incrementAndGet();
+        }
+        else
+        {
+            misses.incrementAndGet();
+        }
+
+        return record;
     }
 
     public CacheRecord put( Plugin plugin, ClassLoader parentRealm, List<String> parentImports,
@@ -133,7 +284,8 @@ public class DefaultPluginRealmCache
             throw new IllegalStateException( "Duplicate plugin realm for plugin " + plugin.getId() );
         }
 
-        CacheRecord record = new CacheRecord( pluginRealm, pluginArtifacts );
+        PooledRecord record = new PooledRecord( key, pluginRealm, pluginArtifacts );
+        record.lastAccess = ticks.incrementAndGet();
 
         cache.put( key, record );
 
@@ -145,6 +297,40 @@ public class DefaultPluginRealmCache
         cache.clear();
     }
 
+    /**
+     * Gets the current statistics of this cache.
+     *
+     * @return The current statistics, never {@code null}.
+     */
+    public CacheStats getStats()
+    {
+        int realms = 0;
+        int idleRealms = 0;
+        long weight = 0;
+
+        for ( CacheRecord record : cache.values() )
+        {
+            realms++;
+
+            if ( record instanceof PooledRecord )
+            {
+                PooledRecord pooledRecord = (PooledRecord) record;
+
+                weight += pooledRecord.weight;
+
+                synchronized ( pooledRecord )
+                {
+                    if ( pooledRecord.isIdle() )
+                    {
+                        idleRealms++;
+                    }
+                }
+            }
+        }
+
+        return new CacheStats( realms, idleRealms, weight, hits.get(), misses.get(), evictions.get() );
+    }
+
     protected static int pluginHashCode( Plugin plugin )
     {
         int hash = 17;
@@ -250,7 +436,185 @@ public class DefaultPluginRealmCache
 
     public void register( MavenProject project, CacheRecord record )
     {
-        // default cache does not track plugin usage
+        // without a project, the record could never be released again
+        if ( project != null )
+        {
+            addUser( project, record );
+        }
+    }
+
+    /**
+     * Registers the specified cache record for usage with the build of the given session. Unlike the registration for
+     * a project, this also covers the project clones used by forked executions, which are not part of the session's
+     * projects and hence could not be released by the project.
+     *
+     * @param session The session of the build that employs the plugin realm, must not be {@code null}.
+     * @param record The cache record being used for the build, must not be {@code null}.
+     */
+    public void register( MavenSession session, CacheRecord record )
+    {
+        addUser( getBuildKey( session ), record );
+    }
+
+    private void addUser( Object user, CacheRecord record )
+    {
+        if ( record instanceof PooledRecord )
+        {
+            PooledRecord pooledRecord = (PooledRecord) record;
+
+            synchronized ( pooledRecord )
+            {
+                pooledRecord.users.put( user, Boolean.TRUE );
+                pooledRecord.idleSince = Long.MAX_VALUE;
+            }
+        }
+    }
+
+    /**
+     * Releases the cache records that were registered for usage with the given project, i.e. the project is done with
+     * them. Records that are no longer used by any project or build become candidates for eviction from the cache.
+     *
+     * @param project The project that no longer employs its plugin realms, must not be {@code null}.
+     */
+    public void release( MavenProject project )
+    {
+        releaseUsers( Collections.<Object> singleton( project ) );
+    }
+
+    /**
+     * Releases the cache records that were registered for usage with the build of the given session or any of its
+     * projects, i.e. the build is done with them. Records that are no longer used by any project or build become
+     * candidates for eviction from the cache.
+     *
+     * @param session The session of the build that no longer employs its plugin realms, must not be {@code null}.
+     */
+    public void release( MavenSession session )
+    {
+        Collection<Object> users = new ArrayList<Object>( session.getProjects() );
+        users.add( getBuildKey( session ) );
+
+        releaseUsers( users );
+    }
+
+    /**
+     * Gets the key that identifies the build of the given session. The sessions of the individual project builds are
+     * clones of the build's session, all of which share the execution request.
+     */
+    private static Object getBuildKey( MavenSession session )
+    {
+        return ( session.getRequest() != null ) ? session.getRequest() : session;
+    }
+
+    private void releaseUsers( Collection<Object> users )
+    {
+        for ( CacheRecord record : cache.values() )
+        {
+            if ( record instanceof PooledRecord )
+            {
+                PooledRecord pooledRecord = (PooledRecord) record;
+
+                synchronized ( pooledRecord )
+                {
+                    boolean released = false;
+                    for ( Object user : users )
+                    {
+                        released |= pooledRecord.users.remove( user ) != null;
+                    }
+
+                    if ( released && pooledRecord.users.isEmpty() )
+                    {
+                        pooledRecord.idleSince = ticks.incrementAndGet();
+                    }
+                }
+            }
+        }
+
+        evict();
+    }
+
+    private synchronized void evict()
+    {
+        long weight = 0;
+
+        List<PooledRecord> candidates = new ArrayList<PooledRecord>();
+
+        for ( CacheRecord record : cache.values() )
+        {
+            if ( record instanceof PooledRecord )
+            {
+                PooledRecord pooledRecord = (PooledRecord) record;
+
+                weight += pooledRecord.weight;
+
+                candidates.add( pooledRecord );
+            }
+        }
+
+        if ( weight <= maxWeight )
+        {
+            return;
+        }
+
+        Collections.sort( candidates, new Comparator<PooledRecord>()
+        {
+            public int compare( PooledRecord o1, PooledRecord o2 )
+            {
+                long t1 = o1.idleSince;
+                long t2 = o2.idleSince;
+                return ( t1 < t2 ) ? -1 : ( ( t1 == t2 ) ? 0 : 1 );
+            }
+        } );
+
+        for ( PooledRecord record : candidates )
+        {
+            if ( weight <= maxWeight )
+            {
+                break;
+            }
+
+            synchronized ( record )
+            {
+                if ( !record.isIdle() )
+                {
+                    continue;
+                }
+
+                record.evicted = true;
+                cache.remove( record.key );
+            }
+
+            weight -= record.weight;
+
+            evictions.incrementAndGet();
+
+            dispose( record.realm );
+        }
+
+        if ( logger.isDebugEnabled() )
+        {
+            logger.debug( "Evicted idle plugin realms, cache now holds " + getStats() );
+        }
+    }
+
+    private void dispose( ClassRealm realm )
+    {
+        try
+        {
+            container.removeComponentRealm( realm );
+        }
+        catch ( PlexusContainerException e )
+        {
+            logger.debug( "Failed to remove components of plugin realm " + realm.getId() + ": " + e.getMessage() );
+        }
+
+        try
+        {
+            realm.getWorld().disposeRealm( realm.getId() );
+        }
+        catch ( NoSuchRealmException e )
+        {
+            // already disposed
+        }
     }
 
 }
@@ -22,9 +22,9 @@ package org.apache.maven.plugin;
 import java.io.File;
 import java.util.Properties;
 
+import org.apache.maven.artifact.internal.BoundedCache;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
-import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.path.PathTranslator;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
@@ -110,222 +110,101 @@ public class PluginParameterExpressionEvaluator
             return null;
         }
 
-        String expression = stripTokens( expr );
-        if ( expression.equals( expr ) )
+        if ( expr.indexOf( '$' ) < 0 )
         {
-            int index = expr.indexOf( "${" );
-            if ( index >= 0 )
-            {
-                int lastIndex = expr.indexOf( "}", index );
-                if ( lastIndex >= 0 )
-                {
-                    String retVal = expr.substring( 0, index );
-
-                    if ( ( index > 0 ) && ( expr.charAt( index - 1 ) == '$' ) )
-                    {
-                        retVal += expr.substring( index + 1, lastIndex + 1 );
-                    }
-                    else
-                    {
-                        Object subResult = evaluate( expr.substring( index, lastIndex + 1 ) );
-
-                        if ( subResult != null )
-                        {
-                            retVal += subResult;
-                        }
-                        else
-                        {
-                            retVal += "$" + expr.substring( index + 1, lastIndex + 1 );
-                        }
-                    }
-
-                    retVal += evaluate( expr.substring( lastIndex + 1 ) );
-                    return retVal;
-                }
-            }
-
-            // Was not an expression
-            if ( expression.indexOf( "$$" ) > -1 )
-            {
-                return expression.replaceAll( "\\$\\$", "\\$" );
-            }
-            else
-            {
-                return expression;
-            }
+            // neither an expression nor an escaped one, by far the most common case
+            return expr;
         }
 
-        MojoDescriptor mojoDescriptor = mojoExecution.getMojoDescriptor();
+        Expression parsed = Expression.valueOf( expr );
 
-        if ( "localRepository".equals( expression ) )
+        if ( parsed.kind == Expression.Kind.LITERAL )
         {
-            value = session.getLocalRepository();
+            return parsed.literal;
         }
-        else if ( "session".equals( expression ) )
+        else if ( parsed.kind == Expression.Kind.TEMPLATE )
         {
-            value = session;
-        }
-        else if ( expression.startsWith( "session" ) )
-        {
-            try
-            {
-                int pathSeparator = expression.indexOf( "/" );
+            String retVal = parsed.prefix;
 
-                if ( pathSeparator > 0 )
-                {
-                    String pathExpression = expression.substring( 1, pathSeparator );
-                    value = ReflectionValueExtractor.evaluate( pathExpression, session );
-                    value = value + expression.substring( pathSeparator );
-                }
-                else
-                {
-                    value = ReflectionValueExtractor.evaluate( expression.substring( 1 ), session );
-                }
-            }
-            catch ( Exception e )
+            if ( parsed.escaped )
             {
-                // TODO: don't catch exception
-                throw new ExpressionEvaluationException( "Error evaluating plugin parameter expression: " + expression,
-                                                         e );
+                retVal += parsed.literal;
             }
-        }
-        else if ( "reactorProjects".equals( expression ) )
-        {
-            value = session.getProjects();
-        }
-        else if ( "mojoExecution".equals( expression ) )
-        {
-            value = mojoExecution;
-        }
-        else if ( "project".equals( expression ) )
-        {
-            value = project;
-        }
-        else if ( "executedProject".equals( expression ) )
-        {
-            value = project.getExecutionProject();
-        }
-        else if ( expression.startsWith( "project" ) || expression.startsWith( "pom" ) )
-        {
-            try
+            else
             {
-                int pathSeparator = expression.indexOf( "/" );
+                Object subResult = evaluate( parsed.expression );
 
-                if ( pathSeparator > 0 )
+                if ( subResult != null )
                 {
-                    String pathExpression = expression.substring( 0, pathSeparator );
-                    value = ReflectionValueExtractor.evaluate( pathExpression, project );
-                    value = value + expression.substring( pathSeparator );
+                    retVal += subResult;
                 }
                 else
                 {
-                    value = ReflectionValueExtractor.evaluate( expression.substring( 1 ), project );
+                    retVal += "$" + parsed.literal;
                 }
             }
-            catch ( Exception e )
-            {
-                // TODO: don't catch exception
-                throw new ExpressionEvaluationException( "Error evaluating plugin parameter expression: " + expression,
-                                                         e );
-            }
-        }
-        else if ( expression.equals( "mojo" ) )
-        {
-            value = mojoExecution;
-        }
-        else if ( expression.startsWith( "mojo" ) )
-        {
-            try
-            {
-                int pathSeparator = expression.indexOf( "/" );
 
-                if ( pathSeparator > 0 )
-                {
-                    String pathExpression = expression.substring( 1, pathSeparator );
-                    value = ReflectionValueExtractor.evaluate( pathExpression, mojoExecution );
-                    value = value + expression.substring( pathSeparator );
-                }
-                else
-                {
-                    value = ReflectionValueExtractor.evaluate( expression.substring( 1 ), mojoExecution );
-                }
-            }
-            catch ( Exception e )
-            {
-                // TODO: don't catch exception
-                throw new ExpressionEvaluationException( "Error evaluating plugin parameter expression: " + expression,
-                                                         e );
-            }
+            retVal += evaluate( parsed.suffix );
+            return retVal;
         }
-        else if ( expression.equals( "plugin" ) )
-        {
-            value = mojoDescriptor.getPluginDescriptor();
-        }
-        else if ( expression.startsWith( "plugin" ) )
-        {
-            try
-            {
-                int pathSeparator = expression.indexOf( "/" );
 
-                PluginDescriptor pluginDescriptor = mojoDescriptor.getPluginDescriptor();
+        String expression = parsed.expression;
 
-                if ( pathSeparator > 0 )
-                {
-                    String pathExpression = expression.substring( 1, pathSeparator );
-                    value = ReflectionValueExtractor.evaluate( pathExpression, pluginDescriptor );
-                    value = value + expression.substring( pathSeparator );
-                }
-                else
-                {
-                    value = ReflectionValueExtractor.evaluate( expression.substring( 1 ), pluginDescriptor );
-                }
-            }
-            catch ( Exception e )
-            {
-                throw new ExpressionEvaluationException( "Error evaluating plugin parameter expression: " + expression,
-                                                         e );
-            }
-        }
-        else if ( "settings".equals( expression ) )
-        {
-            value = session.getSettings();
-        }
-        else if ( expression.startsWith( "settings" ) )
-        {
-            try
-            {
-                int pathSeparator = expression.indexOf( "/" );
+        MojoDescriptor mojoDescriptor = mojoExecution.getMojoDescriptor();
 
-                if ( pathSeparator > 0 )
-                {
-                    String pathExpression = expression.substring( 1, pathSeparator );
-                    value = ReflectionValueExtractor.evaluate( pathExpression, session.getSettings() );
-                    value = value + expression.substring( pathSeparator );
-                }
-                else
+        switch ( parsed.kind )
+        {
+            case LOCAL_REPOSITORY:
+                value = session.getLocalRepository();
+                break;
+            case SESSION:
+                value = session;
+                break;
+            case SESSION_PATH:
+                value = extract( parsed, session );
+                break;
+            case REACTOR_PROJECTS:
+                value = session.getProjects();
+                break;
+            case MOJO_EXECUTION:
+                value = mojoExecution;
+                break;
+            case PROJECT:
+                value = project;
+                break;
+            case EXECUTED_PROJECT:
+                value = project.getExecutionProject();
+                break;
+            case PROJECT_PATH:
+                value = extract( parsed, project );
+                break;
+            case MOJO_PATH:
+                value = extract( parsed, mojoExecution );
+                break;
+            case PLUGIN:
+                value = mojoDescriptor.getPluginDescriptor();
+                break;
+            case PLUGIN_PATH:
+                value = extract( parsed, mojoDescriptor.getPluginDescriptor() );
+                break;
+            case SETTINGS:
+                value = session.getSettings();
+                break;
+            case SETTINGS_PATH:
+                value = extract( parsed, session.getSettings() );
+                break;
+            case BASEDIR:
+                value = basedir;
+                break;
+            case BASEDIR_PATH:
+                if ( parsed.suffix != null )
                 {
-                    value = ReflectionValueExtractor.evaluate( expression.substring( 1 ), session.getSettings() );
+                    value = basedir + parsed.suffix;
                 }
-            }
-            catch ( Exception e )
-            {
-                // TODO: don't catch exception
-                throw new ExpressionEvaluationException( "Error evaluating plugin parameter expression: " + expression,
-                                                         e );
-            }
-        }
-        else if ( "basedir".equals( expression ) )
-        {
-            value = basedir;
-        }
-        else if ( expression.startsWith( "basedir" ) )
-        {
-            int pathSeparator = expression.indexOf( "/" );
-
-            if ( pathSeparator > 0 )
-            {
-                value = basedir + expression.substring( pathSeparator );
-            }
+                break;
+            default:
+                // not a magic expression, only looked up from the properties below
+                break;
         }
 
         /*
@@ -386,6 +265,28 @@ public class PluginParameterExpressionEvaluator
         return value;
     }
 
+    private static Object extract( Expression parsed, Object root )
+        throws ExpressionEvaluationException
+    {
+        try
+        {
+            Object value = ReflectionValueExtractor.evaluate( parsed.path, root );
+
+            if ( parsed.suffix != null )
+            {
+                value = value + parsed.suffix;
+            }
+
+            return value;
+        }
+        catch ( Exception e )
+        {
+            // TODO: don't catch exception
+            throw new ExpressionEvaluationException( "Error evaluating plugin parameter expression: "
+                + parsed.expression, e );
+        }
+    }
+
     private static boolean isTypeCompatible( Class<?> type, Object value )
     {
         if ( type.isInstance( value ) )
@@ -397,7 +298,7 @@ public class PluginParameterExpressionEvaluator
                         && value.getClass().getName().startsWith( "java.lang." ) );
     }
 
-    private String stripTokens( String expr )
+    private static String stripTokens( String expr )
     {
         if ( expr.startsWith( "${" ) && ( expr.indexOf( "}" ) == expr.length() - 1 ) )
         {
@@ -430,4 +331,216 @@ public class PluginParameterExpressionEvaluator
         return file;
     }
 
+    /**
+     * The pre-tokenized form of an expression string. The same expressions get evaluated for every execution of a mojo
+     * in every project, so their syntax is only analyzed once and the evaluation merely looks up the values from the
+     * current session and project.
+     */
+    static final class Expression
+    {
+
+        enum Kind
+        {
+            LITERAL, TEMPLATE, LOCAL_REPOSITORY, SESSION, SESSION_PATH, REACTOR_PROJECTS, MOJO_EXECUTION, PROJECT,
+            EXECUTED_PROJECT, PROJECT_PATH, MOJO_PATH, PLUGIN, PLUGIN_PATH, SETTINGS, SETTINGS_PATH, BASEDIR,
+            BASEDIR_PATH, PROPERTY
+        }
+
+        private static final BoundedCache<String, Expression> CACHE =
+            new BoundedCache<String, Expression>( "maven.expressionCache.size", 4096 );
+
+        final Kind kind;
+
+        /**
+         * The expression without its delimiters or, for templates, the first embedded expression with delimiters.
+         */
+        String expression;
+
+        /**
+         * The value of a literal or, for templates, the text of the first embedded expression without its leading "$".
+         */
+        String literal;
+
+        /**
+         * The text before the first embedded expression of a template.
+         */
+        String prefix;
+
+        /**
+         * Whether the first embedded expression of a template is escaped.
+         */
+        boolean escaped;
+
+        /**
+         * The property path to extract from the root object of the expression.
+         */
+        String path;
+
+        /**
+         * The text after the first embedded expression of a template or the path appended to the extracted value.
+         */
+        String suffix;
+
+        private Expression( Kind kind )
+        {
+            this.kind = kind;
+        }
+
+        static Expression valueOf( String expr )
+        {
+            Expression parsed = CACHE.get( expr );
+
+            if ( parsed == null )
+            {
+                parsed = parse( expr );
+
+                CACHE.put( expr, parsed );
+            }
+
+            return parsed;
+        }
+
+        private static Expression parse( String expr )
+        {
+            String expression = stripTokens( expr );
+
+            if ( expression.equals( expr ) )
+            {
+                int index = expr.indexOf( "${" );
+                if ( index >= 0 )
+                {
+                    int lastIndex = expr.indexOf( "}", index );
+                    if ( lastIndex >= 0 )
+                    {
+                        Expression parsed = new Expression( Kind.TEMPLATE );
+                        parsed.prefix = expr.substring( 0, index );
+                        parsed.escaped = ( index > 0 ) && ( expr.charAt( index - 1 ) == '$' );
+                        parsed.expression = expr.substring( index, lastIndex + 1 );
+                        parsed.literal = expr.substring( index + 1, lastIndex + 1 );
+                        parsed.suffix = expr.substring( lastIndex + 1 );
+                        return parsed;
+                    }
+                }
+
+                // Was not an expression
+                Expression parsed = new Expression( Kind.LITERAL );
+                if ( expression.indexOf( "$$" ) > -1 )
+                {
+                    parsed.literal = expression.replaceAll( "\\$\\$", "\\$" );
+                }
+                else
+                {
+                    parsed.literal = expression;
+                }
+                return parsed;
+            }
+
+            Expression parsed;
+
+            if ( "localRepository".equals( expression ) )
+            {
+                parsed = new Expression( Kind.LOCAL_REPOSITORY );
+            }
+            else if ( "session".equals( expression ) )
+            {
+                parsed = new Expression( Kind.SESSION );
+            }
+            else if ( expression.startsWith( "session" ) )
+            {
+                parsed = newPathExpression( Kind.SESSION_PATH, expression, 1 );
+            }
+            else if ( "reactorProjects".equals( expression ) )
+            {
+                parsed = new Expression( Kind.REACTOR_PROJECTS );
+            }
+            else if ( "mojoExecution".equals( expression ) )
+            {
+                parsed = new Expression( Kind.MOJO_EXECUTION );
+            }
+            else if ( "project".equals( expression ) )
+            {
+                parsed = new Expression( Kind.PROJECT );
+            }
+            else if ( "executedProject".equals( expression ) )
+            {
+                parsed = new Expression( Kind.EXECUTED_PROJECT );
+            }
+            else if ( expression.startsWith( "project" ) || expression.startsWith( "pom" ) )
+            {
+                parsed = newPathExpression( Kind.PROJECT_PATH, expression, 0 );
+            }
+            else if ( expression.equals( "mojo" ) )
+            {
+                parsed = new Expression( Kind.MOJO_EXECUTION );
+            }
+            else if ( expression.startsWith( "mojo" ) )
+            {
+                parsed = newPathExpression( Kind.MOJO_PATH, expression, 1 );
+            }
+            else if ( expression.equals( "plugin" ) )
+            {
+                parsed = new Expression( Kind.PLUGIN );
+            }
+            else if ( expression.startsWith( "plugin" ) )
+            {
+                parsed = newPathExpression( Kind.PLUGIN_PATH, expression, 1 );
+            }
+            else if ( "settings".equals( expression ) )
+            {
+                parsed = new Expression( Kind.SETTINGS );
+            }
+            else if ( expression.startsWith( "settings" ) )
+            {
+                parsed = newPathExpression( Kind.SETTINGS_PATH, expression, 1 );
+            }
+            else if ( "basedir".equals( expression ) )
+            {
+                parsed = new Expression( Kind.BASEDIR );
+            }
+            else if ( expression.startsWith( "basedir" ) )
+            {
+                parsed = new Expression( Kind.BASEDIR_PATH );
+
+                int pathSeparator = expression.indexOf( "/" );
+
+                if ( pathSeparator > 0 )
+                {
+                    parsed.suffix = expression.substring( pathSeparator );
+                }
+            }
+            else
+            {
+                parsed = new Expression( Kind.PROPERTY );
+            }
+
+            parsed.expression = expression;
+
+            return parsed;
+        }
+
+        /**
+         * Splits an expression like {@code project.build.directory/classes} into the property path to extract and the
+         * path to append to the extracted value.
+         */
+        private static Expression newPathExpression( Kind kind, String expression, int pathStart )
+        {
+            Expression parsed = new Expression( kind );
+
+            int pathSeparator = expression.indexOf( "/" );
+
+            if ( pathSeparator > 0 )
+            {
+                parsed.path = expression.substring( pathStart, pathSeparator );
+                parsed.suffix = expression.substring( pathSeparator );
+            }
+            else
+            {
+                parsed.path = expression.substring( 1 );
+            }
+
+            return parsed;
+        }
+
+    }
+
 }
@@ -31,6 +31,7 @@ import org.apache.maven.monitor.logging.DefaultLog;
 import org.apache.maven.plugin.ContextEnabled;
 import org.apache.maven.plugin.DebugConfigurationListener;
 import org.apache.maven.plugin.DefaultPluginDescriptorCache;
+import org.apache.maven.plugin.DefaultPluginRealmCache;
 import org.apache.maven.plugin.InvalidPluginDescriptorException;
 import org.apache.maven.plugin.MavenPluginManager;
 import org.apache.maven.plugin.MavenPluginValidator;
@@ -68,6 +69,8 @@ import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.ReaderFactory;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
@@ -123,8 +126,21 @@ public class DefaultMavenPluginManager
     private PluginDependenciesResolver pluginDependenciesResolver;
     private final PluginDescriptorMemoizer pluginDescriptorMemoizer = new PluginDescriptorMemoizer();
 
+    /**
+     * The plugin realms currently being set up, keyed like the plugin realm cache. Concurrent requests for the same
+     * realm wait for the pending setup instead of creating a duplicate realm, different realms are set up in parallel.
+     */
+    private final ConcurrentMap<DefaultPluginRealmCache.CacheKey, Future<PluginRealmCache.CacheRecord>> pendingRealms =
+        new ConcurrentHashMap<DefaultPluginRealmCache.CacheKey, Future<PluginRealmCache.CacheRecord>>();
+
     private PluginDescriptorBuilder builder = new PluginDescriptorBuilder();
 
+    /**
+     * Whether the parsed plugin descriptors of plugin JARs are cached in the local repository.
+     */
+    private static final boolean INDEX_PLUGIN_DESCRIPTORS =
+        Boolean.valueOf( System.getProperty( "maven.pluginDescriptorIndex", "true" ) ).booleanValue();
+
 
     public class PluginDescriptorMemoizer
     {
@@ -148,7 +164,8 @@ public class DefaultMavenPluginManager
                             Artifact pluginArtifact =
                                 pluginDependenciesResolver.resolve( plugin, new ArtifactResolutionRequest( repositoryRequest ) );
 
-                            return  extractPluginDescriptor( pluginArtifact, plugin );
+                            return  extractPluginDescriptor( pluginArtifact, plugin,
+                                                             getPluginDescriptorIndex( repositoryRequest ) );
                         }
                     };
                     FutureTask<PluginDescriptor> ft = new FutureTask<PluginDescriptor>( eval );
@@ -209,7 +226,20 @@ public class DefaultMavenPluginManager
             return pluginDescriptor;
         }
 
-        private PluginDescriptor extractPluginDescriptor( Artifact pluginArtifact, Plugin plugin )
+        private PluginDescriptorIndex getPluginDescriptorIndex( RepositoryRequest repositoryRequest )
+        {
+            if ( !INDEX_PLUGIN_DESCRIPTORS || repositoryRequest.getLocalRepository() == null
+                || repositoryRequest.getLocalRepository().getBasedir() == null )
+            {
+                return null;
+            }
+
+            return new PluginDescriptorIndex( new File( repositoryRequest.getLocalRepository().getBasedir(),
+                                                        ".cache/plugin-descriptors" ) );
+        }
+
+        private PluginDescriptor extractPluginDescriptor( Artifact pluginArtifact, Plugin plugin,
+                                                          PluginDescriptorIndex index )
             throws PluginDescriptorParsingException, InvalidPluginDescriptorException
         {
             PluginDescriptor pluginDescriptor = null;
@@ -220,21 +250,39 @@ public class DefaultMavenPluginManager
             {
                 if ( pluginFile.isFile() )
                 {
-                    JarFile pluginJar = new JarFile( pluginFile, false );
-                    try
+                    long length = pluginFile.length();
+                    long lastModified = pluginFile.lastModified();
+
+                    Xpp3Dom dom = ( index != null ) ? index.get( pluginFile, length, lastModified ) : null;
+
+                    if ( dom == null )
                     {
-                        ZipEntry pluginDescriptorEntry = pluginJar.getEntry( getPluginDescriptorLocation() );
+                        JarFile pluginJar = new JarFile( pluginFile, false );
+                        try
+                        {
+                            ZipEntry pluginDescriptorEntry = pluginJar.getEntry( getPluginDescriptorLocation() );
 
-                        if ( pluginDescriptorEntry != null )
+                            if ( pluginDescriptorEntry != null )
+                            {
+                                InputStream is = pluginJar.getInputStream( pluginDescriptorEntry );
+
+                                dom = parsePluginDescriptorXml( is, plugin, pluginFile.getAbsolutePath() );
+                            }
+                        }
+                        finally
                         {
-                            InputStream is = pluginJar.getInputStream( pluginDescriptorEntry );
+                            pluginJar.close();
+                        }
 
-                            pluginDescriptor = parsePluginDescriptor( is, plugin, pluginFile.getAbsolutePath() );
+                        if ( dom != null && index != null )
+                        {
+                            index.put( pluginFile, length, lastModified, dom );
                         }
                     }
-                    finally
+
+                    if ( dom != null )
                     {
-                        pluginJar.close();
+                        pluginDescriptor = buildPluginDescriptor( dom, plugin, pluginFile.getAbsolutePath() );
                     }
                 }
                 else
@@ -286,6 +334,36 @@ public class DefaultMavenPluginManager
             return "META-INF/maven/plugin.xml";
         }
 
+        private Xpp3Dom parsePluginDescriptorXml( InputStream is, Plugin plugin, String descriptorLocation )
+            throws PluginDescriptorParsingException
+        {
+            try
+            {
+                return Xpp3DomBuilder.build( ReaderFactory.newXmlReader( is ) );
+            }
+            catch ( IOException e )
+            {
+                throw new PluginDescriptorParsingException( plugin, descriptorLocation, e );
+            }
+            catch ( XmlPullParserException e )
+            {
+                throw new PluginDescriptorParsingException( plugin, descriptorLocation, e );
+            }
+        }
+
+        private PluginDescriptor buildPluginDescriptor( Xpp3Dom dom, Plugin plugin, String descriptorLocation )
+            throws PluginDescriptorParsingException
+        {
+            try
+            {
+                return builder.build( new XmlPlexusConfiguration( dom ), descriptorLocation );
+            }
+            catch ( PlexusConfigurationException e )
+            {
+                throw new PluginDescriptorParsingException( plugin, descriptorLocation, e );
+            }
+        }
+
         private PluginDescriptor parsePluginDescriptor( InputStream is, Plugin plugin, String descriptorLocation )
             throws PluginDescriptorParsingException
         {
@@ -323,8 +401,8 @@ public class DefaultMavenPluginManager
             return mojoDescriptor;
         }
 
-        public synchronized void setupPluginRealm( PluginDescriptor pluginDescriptor, MavenSession session,
-                                                   ClassLoader parent, List<String> imports, ArtifactFilter filter )
+        public void setupPluginRealm( PluginDescriptor pluginDescriptor, MavenSession session, ClassLoader parent,
+                                      List<String> imports, ArtifactFilter filter )
             throws PluginResolutionException, PluginContainerException
         {
             Plugin plugin = pluginDescriptor.getPlugin();
@@ -335,21 +413,126 @@ public class DefaultMavenPluginManager
                 pluginRealmCache.get( plugin, parent, imports, filter, session.getLocalRepository(),
                                       project.getPluginArtifactRepositories() );
 
-            if ( cacheRecord != null )
+            if ( cacheRecord == null )
+            {
+                cacheRecord = setupPluginRealmOnce( pluginDescriptor, session, parent, imports, filter );
+            }
+
+            pluginDescriptor.setClassRealm( cacheRecord.realm );
+            pluginDescriptor.setArtifacts( new ArrayList<Artifact>( cacheRecord.artifacts ) );
+
+            if ( pluginRealmCache instanceof DefaultPluginRealmCache )
             {
-                pluginDescriptor.setClassRealm( cacheRecord.realm );
-                pluginDescriptor.setArtifacts( new ArrayList<Artifact>( cacheRecord.artifacts ) );
+                // forked executions run with a clone of the project, so the realm is tracked for the whole build
+                ( (DefaultPluginRealmCache) pluginRealmCache ).register( session, cacheRecord );
             }
             else
             {
-                createPluginRealm( pluginDescriptor, session, parent, imports, filter );
+                pluginRealmCache.register( project, cacheRecord );
+            }
+        }
 
-                cacheRecord = pluginRealmCache.put( plugin, parent, imports, filter, session.getLocalRepository(),
-                                                    project.getPluginArtifactRepositories(),
-                                                    pluginDescriptor.getClassRealm(), pluginDescriptor.getArtifacts() );
+        private PluginRealmCache.CacheRecord setupPluginRealmOnce( final PluginDescriptor pluginDescriptor,
+                                                                   final MavenSession session,
+                                                                   final ClassLoader parent,
+                                                                   final List<String> imports,
+                                                                   final ArtifactFilter filter )
+            throws PluginResolutionException, PluginContainerException
+        {
+            final Plugin plugin = pluginDescriptor.getPlugin();
+
+            final MavenProject project = session.getCurrentProject();
+
+            DefaultPluginRealmCache.CacheKey key =
+                new DefaultPluginRealmCache.CacheKey( plugin, parent, imports, filter, session.getLocalRepository(),
+                                                      project.getPluginArtifactRepositories() );
+
+            FutureTask<PluginRealmCache.CacheRecord> task =
+                new FutureTask<PluginRealmCache.CacheRecord>( new Callable<PluginRealmCache.CacheRecord>()
+                {
+                    public PluginRealmCache.CacheRecord call()
+                        throws PluginResolutionException, PluginContainerException
+                    {
+                        // another setup for this realm might have completed since we checked the cache
+                        PluginRealmCache.CacheRecord cacheRecord =
+                            pluginRealmCache.get( plugin, parent, imports, filter, session.getLocalRepository(),
+                                                  project.getPluginArtifactRepositories() );
+
+                        if ( cacheRecord == null )
+                        {
+                            createPluginRealm( pluginDescriptor, session, parent, imports, filter );
+
+                            cacheRecord =
+                                pluginRealmCache.put( plugin, parent, imports, filter, session.getLocalRepository(),
+                                                      project.getPluginArtifactRepositories(),
+                                                      pluginDescriptor.getClassRealm(),
+                                                      pluginDescriptor.getArtifacts() );
+                        }
+
+                        return cacheRecord;
+                    }
+                } );
+
+            Future<PluginRealmCache.CacheRecord> pending = pendingRealms.putIfAbsent( key, task );
+
+            if ( pending == null )
+            {
+                pending = task;
+
+                try
+                {
+                    task.run();
+                }
+                finally
+                {
+                    // the realm cache holds the result now, failed setups will be retried by the next request
+                    pendingRealms.remove( key, task );
+                }
             }
 
-            pluginRealmCache.register( project, cacheRecord );
+            boolean interrupted = false;
+            try
+            {
+                while ( true )
+                {
+                    try
+                    {
+                        return pending.get();
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        interrupted = true;
+                    }
+                    catch ( ExecutionException e )
+                    {
+                        Throwable cause = e.getCause();
+                        if ( cause instanceof PluginResolutionException )
+                        {
+                            throw (PluginResolutionException) cause;
+                        }
+                        else if ( cause instanceof PluginContainerException )
+                        {
+                            throw (PluginContainerException) cause;
+                        }
+                        else if ( cause instanceof RuntimeException )
+                        {
+                            throw (RuntimeException) cause;
+                        }
+                        else if ( cause instanceof Error )
+                        {
+                            throw (Error) cause;
+                        }
+                        throw new IllegalStateException( cause );
+                    }
+                }
+            }
+            finally
+            {
+                if ( interrupted )
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
         }
 
         private void createPluginRealm( PluginDescriptor pluginDescriptor, MavenSession session, ClassLoader parent,
@@ -413,13 +596,17 @@ public class DefaultMavenPluginManager
 
             try
             {
-                for ( ComponentDescriptor<?> componentDescriptor : pluginDescriptor.getComponents() )
+                // plugin realms are set up concurrently, but component registration has to be serialized
+                synchronized ( container )
                 {
-                    componentDescriptor.setRealm( pluginRealm );
-                    container.addComponentDescriptor( componentDescriptor );
-                }
+                    for ( ComponentDescriptor<?> componentDescriptor : pluginDescriptor.getComponents() )
+                    {
+                        componentDescriptor.setRealm( pluginRealm );
+                        container.addComponentDescriptor( componentDescriptor );
+                    }
 
-                container.discoverComponents( pluginRealm );
+                    container.discoverComponents( pluginRealm );
+                }
             }
             catch ( PlexusConfigurationException e )
             {
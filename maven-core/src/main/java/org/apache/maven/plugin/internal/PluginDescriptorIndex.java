@@ -0,0 +1,353 @@
+package org.apache.maven.plugin.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * An on-disk cache of the parsed {@code META-INF/maven/plugin.xml} of plugin JARs, which spares opening the JAR and
+ * parsing the XML on subsequent builds. Each plugin gets a small file in a compact binary format that holds the XML
+ * tree along with the path, size and timestamp of the JAR it was extracted from, so the entry is only used as long as
+ * the JAR is unchanged. The files are only read when the descriptor of their plugin is requested. Each file ends with
+ * a checksum of its contents, entries that fail to validate are ignored.
+ */
+class PluginDescriptorIndex
+{
+
+    private static final int MAGIC = 0x4D504449;
+
+    private static final int FORMAT = 2;
+
+    private static final int NULL = -1;
+
+    private static final int MAX_STRING_LENGTH = 16 * 1024 * 1024;
+
+    private static final int CHECKSUM_SIZE = 8;
+
+    private final File directory;
+
+    /**
+     * Creates a new index in the specified directory.
+     *
+     * @param directory The directory to store the index files in, must not be {@code null}.
+     */
+    public PluginDescriptorIndex( File directory )
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the cached plugin descriptor XML for the specified plugin JAR.
+     *
+     * @param pluginFile The plugin JAR, must not be {@code null}.
+     * @param length The current size of the JAR.
+     * @param lastModified The current timestamp of the JAR.
+     * @return The root element of the plugin descriptor or {@code null} if the JAR is not indexed or has changed.
+     */
+    public Xpp3Dom get( File pluginFile, long length, long lastModified )
+    {
+        File indexFile = getIndexFile( pluginFile );
+
+        if ( !indexFile.isFile() )
+        {
+            return null;
+        }
+
+        try
+        {
+            byte[] bytes = readFully( indexFile );
+
+            int dataLength = bytes.length - CHECKSUM_SIZE;
+
+            if ( dataLength < 0 || getChecksum( bytes, dataLength ) != readLong( bytes, dataLength ) )
+            {
+                return null;
+            }
+
+            ByteArrayInputStream buffer = new ByteArrayInputStream( bytes, 0, dataLength );
+            DataInputStream in = new DataInputStream( buffer );
+
+            if ( in.readInt() != MAGIC || in.readInt() != FORMAT )
+            {
+                return null;
+            }
+
+            List<String> strings = new ArrayList<String>();
+
+            if ( !pluginFile.getAbsolutePath().equals( readString( in, strings ) ) || in.readLong() != length
+                || in.readLong() != lastModified )
+            {
+                return null;
+            }
+
+            Xpp3Dom dom = readDom( in, strings );
+
+            // data beyond the descriptor means the entry is inconsistent
+            return ( buffer.available() == 0 ) ? dom : null;
+        }
+        catch ( IOException e )
+        {
+            // corrupt or truncated entry, the descriptor will be extracted from the JAR again
+            return null;
+        }
+    }
+
+    /**
+     * Caches the plugin descriptor XML of the specified plugin JAR. Failures to write the index are ignored.
+     *
+     * @param pluginFile The plugin JAR, must not be {@code null}.
+     * @param length The size of the JAR before the descriptor was extracted.
+     * @param lastModified The timestamp of the JAR before the descriptor was extracted.
+     * @param dom The root element of the plugin descriptor, must not be {@code null}.
+     */
+    public void put( File pluginFile, long length, long lastModified, Xpp3Dom dom )
+    {
+        if ( lastModified == 0 )
+        {
+            return;
+        }
+
+        File indexFile = getIndexFile( pluginFile );
+        File tmpFile = null;
+
+        OutputStream out = null;
+        try
+        {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream( 4096 );
+            DataOutputStream data = new DataOutputStream( buffer );
+
+            Map<String, Integer> strings = new HashMap<String, Integer>();
+
+            data.writeInt( MAGIC );
+            data.writeInt( FORMAT );
+            writeString( data, pluginFile.getAbsolutePath(), strings );
+            data.writeLong( length );
+            data.writeLong( lastModified );
+            writeDom( data, dom, strings );
+
+            byte[] bytes = buffer.toByteArray();
+            data.writeLong( getChecksum( bytes, bytes.length ) );
+            data.close();
+
+            directory.mkdirs();
+
+            // unique per process and thread, concurrent builds sharing the local repository must not collide
+            tmpFile = File.createTempFile( indexFile.getName(), ".tmp", directory );
+
+            out = new FileOutputStream( tmpFile );
+            buffer.writeTo( out );
+            out.close();
+            out = null;
+
+            // replace the entry in one go, readers see either the old or the new entry
+            if ( !tmpFile.renameTo( indexFile ) )
+            {
+                indexFile.delete();
+                tmpFile.renameTo( indexFile );
+            }
+        }
+        catch ( IOException e )
+        {
+            // the index is advisory, the descriptor will be extracted from the JAR again next time
+        }
+        finally
+        {
+            IOUtil.close( out );
+            if ( tmpFile != null )
+            {
+                tmpFile.delete();
+            }
+        }
+    }
+
+    private static byte[] readFully( File file )
+        throws IOException
+    {
+        long size = file.length();
+
+        if ( size > MAX_STRING_LENGTH )
+        {
+            throw new IOException( "Invalid index entry size " + size );
+        }
+
+        InputStream in = new FileInputStream( file );
+        try
+        {
+            byte[] bytes = new byte[(int) size];
+            new DataInputStream( in ).readFully( bytes );
+
+            if ( in.read() >= 0 )
+            {
+                throw new IOException( "Index entry grew while reading" );
+            }
+
+            return bytes;
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+    }
+
+    private static long getChecksum( byte[] bytes, int length )
+    {
+        CRC32 crc = new CRC32();
+        crc.update( bytes, 0, length );
+        return crc.getValue();
+    }
+
+    private static long readLong( byte[] bytes, int offset )
+    {
+        long value = 0;
+        for ( int i = 0; i < CHECKSUM_SIZE; i++ )
+        {
+            value = ( value << 8 ) | ( bytes[offset + i] & 0xFF );
+        }
+        return value;
+    }
+
+    private File getIndexFile( File pluginFile )
+    {
+        String path = pluginFile.getAbsolutePath();
+
+        return new File( directory, pluginFile.getName() + '-' + Integer.toHexString( path.hashCode() ) + ".idx" );
+    }
+
+    private static void writeDom( DataOutputStream out, Xpp3Dom dom, Map<String, Integer> strings )
+        throws IOException
+    {
+        writeString( out, dom.getName(), strings );
+        writeString( out, dom.getValue(), strings );
+
+        String[] attributeNames = dom.getAttributeNames();
+        out.writeInt( attributeNames.length );
+        for ( String attributeName : attributeNames )
+        {
+            writeString( out, attributeName, strings );
+            writeString( out, dom.getAttribute( attributeName ), strings );
+        }
+
+        Xpp3Dom[] children = dom.getChildren();
+        out.writeInt( children.length );
+        for ( Xpp3Dom child : children )
+        {
+            writeDom( out, child, strings );
+        }
+    }
+
+    private static Xpp3Dom readDom( DataInputStream in, List<String> strings )
+        throws IOException
+    {
+        Xpp3Dom dom = new Xpp3Dom( readString( in, strings ) );
+        dom.setValue( readString( in, strings ) );
+
+        for ( int i = in.readInt(); i > 0; i-- )
+        {
+            String name = readString( in, strings );
+            dom.setAttribute( name, readString( in, strings ) );
+        }
+
+        for ( int i = in.readInt(); i > 0; i-- )
+        {
+            dom.addChild( readDom( in, strings ) );
+        }
+
+        return dom;
+    }
+
+    /**
+     * Writes a string, repeated strings like element names are written as back references to their first occurrence.
+     */
+    private static void writeString( DataOutputStream out, String string, Map<String, Integer> strings )
+        throws IOException
+    {
+        if ( string == null )
+        {
+            out.writeInt( NULL );
+            return;
+        }
+
+        Integer index = strings.get( string );
+
+        if ( index != null )
+        {
+            out.writeInt( -2 - index.intValue() );
+        }
+        else
+        {
+            strings.put( string, Integer.valueOf( strings.size() ) );
+
+            byte[] bytes = string.getBytes( "UTF-8" );
+            out.writeInt( bytes.length );
+            out.write( bytes );
+        }
+    }
+
+    private static String readString( DataInputStream in, List<String> strings )
+        throws IOException
+    {
+        int code = in.readInt();
+
+        if ( code == NULL )
+        {
+            return null;
+        }
+        else if ( code < NULL )
+        {
+            int index = -2 - code;
+            if ( index >= strings.size() )
+            {
+                throw new IOException( "Invalid string reference " + index );
+            }
+            return strings.get( index );
+        }
+
+        if ( code > MAX_STRING_LENGTH )
+        {
+            throw new IOException( "Invalid string length " + code );
+        }
+
+        byte[] bytes = new byte[code];
+        in.readFully( bytes );
+
+        String string = new String( bytes, "UTF-8" );
+        strings.add( string );
+
+        return string;
+    }
+
+}
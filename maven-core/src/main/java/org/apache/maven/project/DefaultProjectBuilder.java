@@ -23,7 +23,15 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.ArtifactResolutionException;
@@ -60,6 +68,11 @@ public class DefaultProjectBuilder
     implements ProjectBuilder
 {
 
+    /**
+     * The user property that enables the concurrent loading of the module POMs of a reactor.
+     */
+    static final String CONCURRENT_LOADING_PROPERTY = "maven3.concurrentProjectLoading";
+
     @Requirement
     private ModelBuilder modelBuilder;
 
@@ -279,8 +292,20 @@ public class DefaultProjectBuilder
 
         ReactorModelCache modelCache = new ReactorModelCache();
 
-        boolean noErrors =
-            build( results, interimResults, pomFiles, true, recursive, config, reactorModelPool, modelCache );
+        List<ModelLoad> loads = newModelLoads( pomFiles, true );
+
+        int threads = getProjectLoadingThreads( config );
+
+        if ( threads > 1 && recursive )
+        {
+            loadConcurrently( loads, recursive, config, reactorModelPool, modelCache, threads );
+        }
+        else
+        {
+            load( loads, recursive, config, reactorModelPool, modelCache );
+        }
+
+        boolean noErrors = collect( results, interimResults, loads );
 
         populateReactorModelPool( reactorModelPool, interimResults );
 
@@ -303,110 +328,286 @@ public class DefaultProjectBuilder
         return results;
     }
 
-    private boolean build( List<ProjectBuildingResult> results, List<InterimResult> interimResults,
-                           List<File> pomFiles, boolean isRoot, boolean recursive, ProjectBuildingRequest config,
-                           ReactorModelPool reactorModelPool, ReactorModelCache modelCache )
+    /**
+     * Gets the number of threads to use for loading the module POMs of a reactor, as configured by the user property
+     * {@link #CONCURRENT_LOADING_PROPERTY}. The value is either a thread count or {@code true} to use one thread per
+     * core.
+     */
+    private static int getProjectLoadingThreads( ProjectBuildingRequest config )
     {
-        boolean noErrors = true;
+        Properties userProperties = config.getUserProperties();
+        String value = ( userProperties != null ) ? userProperties.getProperty( CONCURRENT_LOADING_PROPERTY ) : null;
+
+        if ( value == null || value.length() <= 0 || "false".equals( value ) )
+        {
+            return 1;
+        }
+        else if ( "true".equals( value ) )
+        {
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        try
+        {
+            return Integer.parseInt( value.trim() );
+        }
+        catch ( NumberFormatException e )
+        {
+            return 1;
+        }
+    }
+
+    private static List<ModelLoad> newModelLoads( List<File> pomFiles, boolean isRoot )
+    {
+        List<ModelLoad> loads = new ArrayList<ModelLoad>( pomFiles.size() );
 
         for ( File pomFile : pomFiles )
         {
-            ModelBuildingRequest request = getModelBuildingRequest( config, reactorModelPool );
+            loads.add( new ModelLoad( pomFile, isRoot ) );
+        }
 
-            MavenProject project = new MavenProject( repositorySystem, this, config );
+        return loads;
+    }
 
-            request.setPomFile( pomFile );
-            request.setTwoPhaseBuilding( true );
-            request.setLocationTracking( true );
-            request.setModelCache( modelCache );
+    private void load( List<ModelLoad> loads, boolean recursive, ProjectBuildingRequest config,
+                       ReactorModelPool reactorModelPool, ReactorModelCache modelCache )
+    {
+        for ( ModelLoad load : loads )
+        {
+            load( load, recursive, config, reactorModelPool, modelCache );
 
-            DefaultModelBuildingListener listener =
-                new DefaultModelBuildingListener( project, projectBuildingHelper, config );
-            request.setModelBuildingListener( listener );
+            load( load.modules, recursive, config, reactorModelPool, modelCache );
+        }
+    }
 
-            try
-            {
-                ModelBuildingResult result = modelBuilder.build( request );
+    /**
+     * Loads the module POMs using the specified number of threads. Modules are submitted as soon as their parent
+     * aggregator has been read, the resulting tree of loads keeps the declaration order of the modules so the reactor
+     * order does not depend on the thread scheduling.
+     */
+    private void loadConcurrently( List<ModelLoad> loads, final boolean recursive, final ProjectBuildingRequest config,
+                                   final ReactorModelPool reactorModelPool, final ReactorModelCache modelCache,
+                                   int threads )
+        throws ProjectBuildingException
+    {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
 
-                Model model = result.getEffectiveModel();
+        try
+        {
+            CompletionService<ModelLoad> service = new ExecutorCompletionService<ModelLoad>( executor );
 
-                InterimResult interimResult = new InterimResult( pomFile, request, result, listener, isRoot );
-                interimResults.add( interimResult );
+            LinkedList<ModelLoad> pending = new LinkedList<ModelLoad>( loads );
 
-                if ( recursive && !model.getModules().isEmpty() )
-                {
-                    File basedir = pomFile.getParentFile();
+            int running = 0;
 
-                    List<File> moduleFiles = new ArrayList<File>();
+            while ( !pending.isEmpty() || running > 0 )
+            {
+                while ( !pending.isEmpty() )
+                {
+                    final ModelLoad load = pending.removeFirst();
 
-                    for ( String module : model.getModules() )
+                    service.submit( new Callable<ModelLoad>()
                     {
-                        if ( StringUtils.isEmpty( module ) )
+                        public ModelLoad call()
                         {
-                            continue;
+                            try
+                            {
+                                load( load, recursive, config, reactorModelPool, modelCache );
+                            }
+                            finally
+                            {
+                                Thread.currentThread().setContextClassLoader( contextClassLoader );
+                            }
+                            return load;
                         }
+                    } );
 
-                        module = module.replace( '\\', File.separatorChar ).replace( '/', File.separatorChar );
+                    running++;
+                }
 
-                        File moduleFile = new File( basedir, module );
+                ModelLoad load = service.take().get();
 
-                        if ( moduleFile.isDirectory() )
-                        {
-                            moduleFile = modelProcessor.locatePom( moduleFile );
-                        }
+                running--;
 
-                        if ( !moduleFile.isFile() )
-                        {
-                            ModelProblem problem =
-                                new DefaultModelProblem( "Child module " + moduleFile + " of " + pomFile
-                                    + " does not exist", ModelProblem.Severity.ERROR, model, -1, -1, null );
-                            result.getProblems().add( problem );
+                pending.addAll( load.modules );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
 
-                            noErrors = false;
+            throw new ProjectBuildingException( null, "Interrupted while loading the reactor projects", e );
+        }
+        catch ( ExecutionException e )
+        {
+            Throwable cause = e.getCause();
+            if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException( cause );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
 
-                            continue;
-                        }
+    /**
+     * Reads the POM of the specified load and determines its modules (without loading them).
+     */
+    private void load( ModelLoad load, boolean recursive, ProjectBuildingRequest config,
+                       ReactorModelPool reactorModelPool, ReactorModelCache modelCache )
+    {
+        File pomFile = load.pomFile;
+
+        ModelBuildingRequest request = getModelBuildingRequest( config, reactorModelPool );
+
+        MavenProject project = new MavenProject( repositorySystem, this, config );
+
+        request.setPomFile( pomFile );
+        request.setTwoPhaseBuilding( true );
+        request.setLocationTracking( true );
+        request.setModelCache( modelCache );
+
+        DefaultModelBuildingListener listener =
+            new DefaultModelBuildingListener( project, projectBuildingHelper, config );
+        request.setModelBuildingListener( listener );
 
-                        if ( Os.isFamily( Os.FAMILY_WINDOWS ) )
+        try
+        {
+            ModelBuildingResult result = modelBuilder.build( request );
+
+            Model model = result.getEffectiveModel();
+
+            load.interimResult = new InterimResult( pomFile, request, result, listener, load.root );
+
+            if ( recursive && !model.getModules().isEmpty() )
+            {
+                File basedir = pomFile.getParentFile();
+
+                List<File> moduleFiles = new ArrayList<File>();
+
+                for ( String module : model.getModules() )
+                {
+                    if ( StringUtils.isEmpty( module ) )
+                    {
+                        continue;
+                    }
+
+                    module = module.replace( '\\', File.separatorChar ).replace( '/', File.separatorChar );
+
+                    File moduleFile = new File( basedir, module );
+
+                    if ( moduleFile.isDirectory() )
+                    {
+                        moduleFile = modelProcessor.locatePom( moduleFile );
+                    }
+
+                    if ( !moduleFile.isFile() )
+                    {
+                        ModelProblem problem =
+                            new DefaultModelProblem( "Child module " + moduleFile + " of " + pomFile
+                                + " does not exist", ModelProblem.Severity.ERROR, model, -1, -1, null );
+                        result.getProblems().add( problem );
+
+                        load.noErrors = false;
+
+                        continue;
+                    }
+
+                    if ( Os.isFamily( Os.FAMILY_WINDOWS ) )
+                    {
+                        // we don't canonicalize on unix to avoid interfering with symlinks
+                        try
                         {
-                            // we don't canonicalize on unix to avoid interfering with symlinks
-                            try
-                            {
-                                moduleFile = moduleFile.getCanonicalFile();
-                            }
-                            catch ( IOException e )
-                            {
-                                moduleFile = moduleFile.getAbsoluteFile();
-                            }
+                            moduleFile = moduleFile.getCanonicalFile();
                         }
-                        else
+                        catch ( IOException e )
                         {
-                            moduleFile = new File( moduleFile.toURI().normalize() );
+                            moduleFile = moduleFile.getAbsoluteFile();
                         }
-
-                        moduleFiles.add( moduleFile );
                     }
-
-                    interimResult.modules = new ArrayList<InterimResult>();
-
-                    if ( !build( results, interimResult.modules, moduleFiles, false, recursive, config,
-                                reactorModelPool, modelCache ) )
+                    else
                     {
-                        noErrors = false;
+                        moduleFile = new File( moduleFile.toURI().normalize() );
                     }
+
+                    moduleFiles.add( moduleFile );
                 }
+
+                load.interimResult.modules = new ArrayList<InterimResult>();
+
+                load.modules = newModelLoads( moduleFiles, false );
             }
-            catch ( ModelBuildingException e )
+        }
+        catch ( ModelBuildingException e )
+        {
+            load.failure = new DefaultProjectBuildingResult( e.getModelId(), pomFile, e.getProblems() );
+
+            load.noErrors = false;
+        }
+    }
+
+    /**
+     * Walks the tree of loads in declaration order and gathers the interim results respectively the failures.
+     */
+    private boolean collect( List<ProjectBuildingResult> results, List<InterimResult> interimResults,
+                             List<ModelLoad> loads )
+    {
+        boolean noErrors = true;
+
+        for ( ModelLoad load : loads )
+        {
+            if ( load.failure != null )
+            {
+                results.add( load.failure );
+            }
+            else
             {
-                results.add( new DefaultProjectBuildingResult( e.getModelId(), pomFile, e.getProblems() ) );
+                interimResults.add( load.interimResult );
+            }
 
-                noErrors = false;
+            noErrors = load.noErrors && noErrors;
+
+            if ( load.interimResult != null )
+            {
+                noErrors = collect( results, load.interimResult.modules, load.modules ) && noErrors;
             }
         }
 
         return noErrors;
     }
 
+    static class ModelLoad
+    {
+
+        final File pomFile;
+
+        final boolean root;
+
+        InterimResult interimResult;
+
+        ProjectBuildingResult failure;
+
+        boolean noErrors = true;
+
+        List<ModelLoad> modules = Collections.emptyList();
+
+        ModelLoad( File pomFile, boolean root )
+        {
+            this.pomFile = pomFile;
+            this.root = root;
+        }
+
+    }
+
     static class InterimResult
     {
 
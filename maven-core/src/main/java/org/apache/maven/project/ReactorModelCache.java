@@ -19,13 +19,14 @@ package org.apache.maven.project;
  * under the License.
  */
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.model.building.ModelCache;
 
 /**
- * A simple model cache used to accelerate model building during a reactor build.
+ * A simple model cache used to accelerate model building during a reactor build. The cache is thread-safe so that
+ * it can be shared by concurrently loaded modules.
  * 
  * @author Benjamin Bentmann
  */
@@ -33,7 +34,7 @@ class ReactorModelCache
     implements ModelCache
 {
 
-    private final Map<CacheKey, Object> models = new HashMap<CacheKey, Object>( 256 );
+    private final Map<CacheKey, Object> models = new ConcurrentHashMap<CacheKey, Object>( 256 );
 
     public Object get( String groupId, String artifactId, String version, String tag )
     {
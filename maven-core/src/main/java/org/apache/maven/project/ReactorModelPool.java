@@ -20,19 +20,19 @@ package org.apache.maven.project;
  */
 
 import java.io.File;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Holds all POM files that are known to the reactor. This allows the project builder to resolve imported POMs from the
- * reactor when building another project's effective model.
+ * reactor when building another project's effective model. The pool is thread-safe.
  * 
  * @author Benjamin Bentmann
  */
 class ReactorModelPool
 {
 
-    private final Map<CacheKey, File> pomFiles = new HashMap<CacheKey, File>();
+    private final Map<CacheKey, File> pomFiles = new ConcurrentHashMap<CacheKey, File>();
 
     public File get( String groupId, String artifactId, String version )
     {
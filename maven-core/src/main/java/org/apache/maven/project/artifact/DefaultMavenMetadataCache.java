@@ -27,10 +27,16 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
 import org.apache.maven.artifact.metadata.ResolutionGroup;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
@@ -41,8 +47,34 @@ public class DefaultMavenMetadataCache
     implements MavenMetadataCache
 {
 
+    /**
+     * The default maximum weight of the cache, can be overridden by the system property
+     * {@code maven.metadataCache.maxWeight}.
+     */
+    private static final int DEFAULT_MAX_WEIGHT = 100000;
+
     protected final Map<CacheKey, CacheRecord> cache = new ConcurrentHashMap<CacheKey, CacheRecord>();
 
+    /**
+     * The weights of the cached records in access order, i.e. least recently used first, guarded by {@code this}.
+     */
+    private final Map<CacheKey, Integer> usage = new LinkedHashMap<CacheKey, Integer>( 256, 0.75f, true );
+
+    /**
+     * The records being loaded, shared by all threads requesting the same record.
+     */
+    private final ConcurrentMap<CacheKey, Load> loads = new ConcurrentHashMap<CacheKey, Load>();
+
+    private int maxWeight = Integer.getInteger( "maven.metadataCache.maxWeight", DEFAULT_MAX_WEIGHT ).intValue();
+
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
     public static class CacheKey
     {
         private final Artifact artifact;
@@ -289,8 +321,12 @@ public class DefaultMavenMetadataCache
 
             return length != -1 || timestamp != -1;
         }
-    }
 
+        int getWeight()
+        {
+            return 1 + artifacts.size() + ( ( managedVersions != null ) ? managedVersions.size() : 0 );
+        }
+    }
 
     public ResolutionGroup get( Artifact artifact, boolean resolveManagedVersions, ArtifactRepository localRepository,
                                 List<ArtifactRepository> remoteRepositories )
@@ -301,24 +337,139 @@ public class DefaultMavenMetadataCache
 
         if ( cacheRecord != null && !cacheRecord.isStale() )
         {
-            Artifact pomArtifact = ArtifactUtils.copyArtifact( cacheRecord.getArtifact() );
-            Artifact relocatedArtifact = ArtifactUtils.copyArtifactSafe( cacheRecord.getRelocatedArtifact() );
-            Set<Artifact> artifacts =
-                ArtifactUtils.copyArtifacts( cacheRecord.getArtifacts(), new LinkedHashSet<Artifact>() );
-            Map<String, Artifact> managedVersions = cacheRecord.getManagedVersions();
-            if ( managedVersions != null )
-            {
-                managedVersions = ArtifactUtils.copyArtifacts( managedVersions, new LinkedHashMap<String, Artifact>() );
-            }
-            return new ResolutionGroup( pomArtifact, relocatedArtifact, artifacts, managedVersions,
-                                        cacheRecord.getRemoteRepositories() );
+            hit( cacheKey );
+
+            return newResolutionGroup( cacheRecord );
+        }
+
+        if ( cacheRecord != null )
+        {
+            remove( cacheKey, cacheRecord );
         }
 
-        cache.remove( cacheKey );
+        misses.incrementAndGet();
 
         return null;
     }
 
+    /**
+     * Gets the cached resolution group for the specified artifact or loads and caches it if not cached yet. Concurrent
+     * requests for the same resolution group share a single invocation of the loader.
+     *
+     * @param artifact The artifact whose resolution group should be retrieved, must not be {@code null}.
+     * @param resolveManagedVersions Whether managed versions are resolved.
+     * @param localRepository The local repository, must not be {@code null}.
+     * @param remoteRepositories The remote repositories, must not be {@code null}.
+     * @param loader The loader to invoke if the resolution group is not cached, must not be {@code null}.
+     * @return The resolution group or {@code null} if the loader yielded {@code null}.
+     * @throws ArtifactMetadataRetrievalException If the loader failed.
+     */
+    public ResolutionGroup get( Artifact artifact, boolean resolveManagedVersions, ArtifactRepository localRepository,
+                                List<ArtifactRepository> remoteRepositories, final Loader loader )
+        throws ArtifactMetadataRetrievalException
+    {
+        final CacheKey cacheKey =
+            newCacheKey( artifact, resolveManagedVersions, localRepository, remoteRepositories );
+
+        while ( true )
+        {
+            CacheRecord cacheRecord = cache.get( cacheKey );
+
+            if ( cacheRecord != null )
+            {
+                if ( !cacheRecord.isStale() )
+                {
+                    hit( cacheKey );
+
+                    return newResolutionGroup( cacheRecord );
+                }
+
+                remove( cacheKey, cacheRecord );
+            }
+
+            final ResolutionGroup[] loaded = new ResolutionGroup[1];
+
+            Load load = new Load( new Callable<CacheRecord>()
+            {
+                public CacheRecord call()
+                    throws ArtifactMetadataRetrievalException
+                {
+                    // a concurrent load might have completed since we looked
+                    CacheRecord cached = cache.get( cacheKey );
+                    if ( cached != null && !cached.isStale() )
+                    {
+                        return cached;
+                    }
+
+                    misses.incrementAndGet();
+
+                    loaded[0] = loader.load();
+                    return ( loaded[0] != null ) ? newCacheRecord( loaded[0] ) : null;
+                }
+            } );
+
+            Load pending = loads.putIfAbsent( cacheKey, load );
+
+            if ( pending == null )
+            {
+                try
+                {
+                    load.run();
+
+                    cacheRecord = load.await();
+
+                    if ( loaded[0] == null && cacheRecord != null )
+                    {
+                        hit( cacheKey );
+
+                        return newResolutionGroup( cacheRecord );
+                    }
+
+                    // failed or empty loads are not cached
+                    if ( cacheRecord != null )
+                    {
+                        put( cacheKey, cacheRecord );
+                    }
+                }
+                catch ( InterruptedException e )
+                {
+                    // can't happen, the task is done already
+                    throw new IllegalStateException( e );
+                }
+                finally
+                {
+                    loads.remove( cacheKey, load );
+                }
+
+                return loaded[0];
+            }
+
+            try
+            {
+                cacheRecord = pending.await();
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new ArtifactMetadataRetrievalException( "Interrupted while waiting for the metadata of "
+                    + artifact.getId(), e, artifact );
+            }
+
+            if ( cacheRecord == null )
+            {
+                // the concurrent load yielded nothing, neither would ours
+                hits.incrementAndGet();
+                return null;
+            }
+
+            if ( !cacheRecord.isStale() )
+            {
+                hits.incrementAndGet();
+                return newResolutionGroup( cacheRecord );
+            }
+        }
+    }
+
     public void put( Artifact artifact, boolean resolveManagedVersions, ArtifactRepository localRepository,
                      List<ArtifactRepository> remoteRepositories, ResolutionGroup result )
     {
@@ -333,15 +484,170 @@ public class DefaultMavenMetadataCache
 
     protected void put( CacheKey cacheKey, ResolutionGroup result )
     {
-        CacheRecord cacheRecord =
-            new CacheRecord( result.getPomArtifact(), result.getRelocatedArtifact(), result.getArtifacts(),
-                             result.getManagedVersions(), result.getResolutionRepositories() );
+        put( cacheKey, newCacheRecord( result ) );
+    }
+
+    private CacheRecord newCacheRecord( ResolutionGroup result )
+    {
+        return new CacheRecord( result.getPomArtifact(), result.getRelocatedArtifact(), result.getArtifacts(),
+                                result.getManagedVersions(), result.getResolutionRepositories() );
+    }
+
+    private static ResolutionGroup newResolutionGroup( CacheRecord cacheRecord )
+    {
+        Artifact pomArtifact = ArtifactUtils.copyArtifact( cacheRecord.getArtifact() );
+        Artifact relocatedArtifact = ArtifactUtils.copyArtifactSafe( cacheRecord.getRelocatedArtifact() );
+        Set<Artifact> artifacts =
+            ArtifactUtils.copyArtifacts( cacheRecord.getArtifacts(), new LinkedHashSet<Artifact>() );
+        Map<String, Artifact> managedVersions = cacheRecord.getManagedVersions();
+        if ( managedVersions != null )
+        {
+            managedVersions = ArtifactUtils.copyArtifacts( managedVersions, new LinkedHashMap<String, Artifact>() );
+        }
+        return new ResolutionGroup( pomArtifact, relocatedArtifact, artifacts, managedVersions,
+                                    cacheRecord.getRemoteRepositories() );
+    }
+
+    private synchronized void hit( CacheKey cacheKey )
+    {
+        hits.incrementAndGet();
 
+        // moves the key to the end of the access order
+        usage.get( cacheKey );
+    }
+
+    private synchronized void remove( CacheKey cacheKey, CacheRecord cacheRecord )
+    {
+        if ( cache.get( cacheKey ) == cacheRecord )
+        {
+            cache.remove( cacheKey );
+
+            Integer recordWeight = usage.remove( cacheKey );
+            if ( recordWeight != null )
+            {
+                weight -= recordWeight.intValue();
+            }
+        }
+    }
+
+    /**
+     * Caches the specified record and evicts the least recently used records if the cache got too heavy.
+     */
+    private synchronized void put( CacheKey cacheKey, CacheRecord cacheRecord )
+    {
         cache.put( cacheKey, cacheRecord );
+
+        Integer previous = usage.put( cacheKey, Integer.valueOf( cacheRecord.getWeight() ) );
+        if ( previous != null )
+        {
+            weight -= previous.intValue();
+        }
+        weight += cacheRecord.getWeight();
+
+        for ( Iterator<Map.Entry<CacheKey, Integer>> it = usage.entrySet().iterator(); weight > maxWeight
+            && it.hasNext(); )
+        {
+            Map.Entry<CacheKey, Integer> eldest = it.next();
+            if ( !eldest.getKey().equals( cacheKey ) )
+            {
+                it.remove();
+                cache.remove( eldest.getKey() );
+                weight -= eldest.getValue().intValue();
+                evictions.incrementAndGet();
+            }
+        }
     }
 
-    public void flush()
+    public synchronized void flush()
     {
         cache.clear();
+        usage.clear();
+        weight = 0;
     }
+
+    /**
+     * Sets the maximum total weight of the cached records. The weight of a record is roughly the number of artifacts
+     * it holds.
+     *
+     * @param maxWeight The maximum weight of the cache.
+     */
+    public synchronized void setMaxWeight( int maxWeight )
+    {
+        this.maxWeight = maxWeight;
+    }
+
+    public synchronized long getWeight()
+    {
+        return weight;
+    }
+
+    public long getHitCount()
+    {
+        return hits.get();
+    }
+
+    public long getMissCount()
+    {
+        return misses.get();
+    }
+
+    public long getEvictionCount()
+    {
+        return evictions.get();
+    }
+
+    /**
+     * Loads a resolution group on a cache miss.
+     */
+    public interface Loader
+    {
+
+        ResolutionGroup load()
+            throws ArtifactMetadataRetrievalException;
+
+    }
+
+    /**
+     * The pending load of a record, shared by all threads requesting the same record.
+     */
+    static class Load
+        extends FutureTask<CacheRecord>
+    {
+
+        Load( Callable<CacheRecord> loader )
+        {
+            super( loader );
+        }
+
+        CacheRecord await()
+            throws ArtifactMetadataRetrievalException, InterruptedException
+        {
+            try
+            {
+                return get();
+            }
+            catch ( ExecutionException e )
+            {
+                Throwable t = e.getCause();
+                if ( t instanceof ArtifactMetadataRetrievalException )
+                {
+                    throw (ArtifactMetadataRetrievalException) t;
+                }
+                else if ( t instanceof RuntimeException )
+                {
+                    throw (RuntimeException) t;
+                }
+                else if ( t instanceof Error )
+                {
+                    throw (Error) t;
+                }
+                else
+                {
+                    throw new IllegalStateException( "Not unchecked", t );
+                }
+            }
+        }
+
+    }
+
 }
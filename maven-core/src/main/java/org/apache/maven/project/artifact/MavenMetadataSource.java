@@ -154,19 +154,70 @@ public class MavenMetadataSource
             return new ResolutionGroup( null, null, null );
         }
 
-        ResolutionGroup cached =
-            cache.get( artifact, request.isResolveManagedVersions(), request.getLocalRepository(),
-                       request.getRemoteRepositories() );
+        final MetadataResolutionRequest req = request;
+        final boolean[] loaded = { false };
 
-        if ( cached != null )
+        ResolutionGroup result;
+
+        if ( cache instanceof DefaultMavenMetadataCache )
+        {
+            DefaultMavenMetadataCache.Loader loader = new DefaultMavenMetadataCache.Loader()
+            {
+                public ResolutionGroup load()
+                    throws ArtifactMetadataRetrievalException
+                {
+                    loaded[0] = true;
+                    return doRetrieve( req );
+                }
+            };
+
+            result =
+                ( (DefaultMavenMetadataCache) cache ).get( artifact, request.isResolveManagedVersions(),
+                                                           request.getLocalRepository(),
+                                                           request.getRemoteRepositories(), loader );
+        }
+        else
         {
-            // if the POM has no file, we cached a missing artifact, only return the cached data if no update forced
-            if ( !request.isForceUpdate() || hasFile( cached.getPomArtifact() ) )
+            result =
+                cache.get( artifact, request.isResolveManagedVersions(), request.getLocalRepository(),
+                           request.getRemoteRepositories() );
+
+            if ( result == null )
             {
-                return cached;
+                loaded[0] = true;
+                result = doRetrieve( request );
+                putCache( request, result );
             }
         }
 
+        // if the POM has no file, we cached a missing artifact, only return the cached data if no update forced
+        if ( result != null && !loaded[0] && request.isForceUpdate() && !hasFile( result.getPomArtifact() ) )
+        {
+            result = doRetrieve( request );
+            putCache( request, result );
+        }
+
+        return result;
+    }
+
+    private void putCache( MetadataResolutionRequest request, ResolutionGroup result )
+    {
+        if ( result != null )
+        {
+            cache.put( request.getArtifact(), request.isResolveManagedVersions(), request.getLocalRepository(),
+                       request.getRemoteRepositories(), result );
+        }
+    }
+
+    /**
+     * Computes the resolution group of the requested artifact, bypassing the cache. Concurrent requests for the same
+     * artifact are funneled through the default cache such that this happens only once.
+     */
+    private ResolutionGroup doRetrieve( MetadataResolutionRequest request )
+        throws ArtifactMetadataRetrievalException
+    {
+        Artifact artifact = request.getArtifact();
+
         List<Dependency> dependencies;
 
         List<Dependency> managedDependencies = null;
@@ -252,13 +303,8 @@ public class MavenMetadataSource
         List<ArtifactRepository> aggregatedRepositories =
             aggregateRepositories( request.getRemoteRepositories(), pomRepositories );
 
-        ResolutionGroup result =
-            new ResolutionGroup( pomArtifact, relocatedArtifact, artifacts, managedVersions, aggregatedRepositories );
-
-        cache.put( artifact, request.isResolveManagedVersions(), request.getLocalRepository(),
-                   request.getRemoteRepositories(), result );
-
-        return result;
+        return new ResolutionGroup( pomArtifact, relocatedArtifact, artifacts, managedVersions,
+                                    aggregatedRepositories );
     }
 
     private boolean hasFile( Artifact artifact )
@@ -0,0 +1,63 @@
+package org.apache.maven.artifact.repository.layout;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+
+public class DefaultRepositoryLayoutTest
+    extends TestCase
+{
+
+    private ArtifactRepositoryLayout layout = new DefaultRepositoryLayout();
+
+    private Artifact newArtifact( String version, String type, String classifier )
+    {
+        return new DefaultArtifact( "org.apache.maven", "maven-core", version, null, type, classifier,
+                                    new DefaultArtifactHandler( type ) );
+    }
+
+    public void testPathOf()
+    {
+        assertEquals( "org/apache/maven/maven-core/3.0/maven-core-3.0.jar",
+                      layout.pathOf( newArtifact( "3.0", "jar", null ) ) );
+        assertEquals( "org/apache/maven/maven-core/3.0/maven-core-3.0.pom",
+                      layout.pathOf( newArtifact( "3.0", "pom", null ) ) );
+        assertEquals( "org/apache/maven/maven-core/3.0/maven-core-3.0-tests.jar",
+                      layout.pathOf( newArtifact( "3.0", "jar", "tests" ) ) );
+    }
+
+    public void testPathOfResolvedSnapshot()
+    {
+        Artifact artifact = newArtifact( "3.0-SNAPSHOT", "jar", null );
+
+        assertEquals( "org/apache/maven/maven-core/3.0-SNAPSHOT/maven-core-3.0-SNAPSHOT.jar",
+                      layout.pathOf( artifact ) );
+
+        artifact.setResolvedVersion( "3.0-20090718.123456-1" );
+
+        assertEquals( "org/apache/maven/maven-core/3.0-SNAPSHOT/maven-core-3.0-20090718.123456-1.jar",
+                      layout.pathOf( artifact ) );
+    }
+
+}
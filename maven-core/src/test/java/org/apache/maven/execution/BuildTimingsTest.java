@@ -0,0 +1,147 @@
+package org.apache.maven.execution;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+
+public class BuildTimingsTest
+    extends TestCase
+{
+
+    private File file;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        file = new File( System.getProperty( "basedir", "" ), "target/build-timings/" + getName() + ".txt" );
+        file.delete();
+    }
+
+    private static MavenProject newProject( String artifactId )
+    {
+        MavenProject project = new MavenProject();
+        project.setGroupId( "test" );
+        project.setArtifactId( artifactId );
+        project.setVersion( "1.0" );
+        return project;
+    }
+
+    private static MojoExecution newMojoExecution( String goal )
+    {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId( "org.apache.maven.plugins" );
+        plugin.setArtifactId( "maven-compiler-plugin" );
+        return new MojoExecution( plugin, goal, "default-" + goal );
+    }
+
+    public void testUnknownTimes()
+    {
+        BuildTimings timings = new BuildTimings();
+        MavenProject project = newProject( "a" );
+
+        assertFalse( timings.hasHistory() );
+        assertEquals( -1, timings.getProjectTime( project ) );
+        assertEquals( -1, timings.getTaskSegmentTime( project, "[install]" ) );
+        assertEquals( -1, timings.getMojoTime( project, newMojoExecution( "compile" ) ) );
+    }
+
+    public void testRoundTrip()
+        throws Exception
+    {
+        MavenProject a = newProject( "a" );
+        MavenProject b = newProject( "b" );
+
+        BuildTimings timings = new BuildTimings();
+        timings.addTaskSegmentTime( a, "[clean, install]", 100 );
+        timings.addTaskSegmentTime( a, "[site]", 50 );
+        timings.addTaskSegmentTime( b, "[clean, install]", 30 );
+        timings.addMojoTime( a, newMojoExecution( "compile" ), 40 );
+        timings.write( file );
+
+        BuildTimings history = new BuildTimings();
+        history.read( file );
+
+        assertTrue( history.hasHistory() );
+        assertEquals( 150, history.getProjectTime( a ) );
+        assertEquals( 100, history.getTaskSegmentTime( a, "[clean, install]" ) );
+        assertEquals( 50, history.getTaskSegmentTime( a, "[site]" ) );
+        assertEquals( 30, history.getTaskSegmentTime( b, "[deploy]" ) );
+        assertEquals( 40, history.getMojoTime( newProject( "a" ), newMojoExecution( "compile" ) ) );
+        assertEquals( -1, history.getMojoTime( a, newMojoExecution( "testCompile" ) ) );
+
+        Map<MavenProject, Long> times = history.getProjectTimes( Arrays.asList( a, b, newProject( "c" ) ), null );
+        assertEquals( 2, times.size() );
+        assertEquals( Long.valueOf( 30 ), times.get( b ) );
+    }
+
+    public void testRecordsAreAppendedAndAveraged()
+        throws Exception
+    {
+        MavenProject a = newProject( "a" );
+
+        BuildTimings first = new BuildTimings();
+        first.addTaskSegmentTime( a, "[install]", 100 );
+        first.write( file );
+
+        BuildTimings second = new BuildTimings();
+        second.read( file );
+        second.addTaskSegmentTime( a, "[install]", 200 );
+        second.write( file );
+
+        BuildTimings history = new BuildTimings();
+        history.read( file );
+        assertEquals( 150, history.getProjectTime( a ) );
+    }
+
+    public void testHistoryIsCompacted()
+        throws Exception
+    {
+        MavenProject a = newProject( "a" );
+
+        for ( int i = 0; i < 30; i++ )
+        {
+            BuildTimings timings = new BuildTimings();
+            timings.read( file );
+            timings.addTaskSegmentTime( a, "[install]", 100 );
+            timings.write( file );
+        }
+
+        // without compaction, there would be 60 records by now
+        int records = FileUtils.fileRead( file, "UTF-8" ).split( "\n" ).length;
+        assertTrue( "history not compacted: " + records, records < 45 );
+
+        BuildTimings history = new BuildTimings();
+        history.read( file );
+        assertEquals( 100, history.getProjectTime( a ) );
+    }
+
+}
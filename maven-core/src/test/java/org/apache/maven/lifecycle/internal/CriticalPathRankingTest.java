@@ -0,0 +1,100 @@
+package org.apache.maven.lifecycle.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.lifecycle.internal.stub.ProjectDependencyGraphStub;
+import org.apache.maven.project.MavenProject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.maven.lifecycle.internal.stub.ProjectDependencyGraphStub.*;
+
+public class CriticalPathRankingTest
+    extends TestCase
+{
+    public void testRanksByChainDepthWithoutDurations()
+    {
+        CriticalPathRanking ranking = new CriticalPathRanking( new ProjectDependencyGraphStub(), null );
+
+        assertEquals( 3, ranking.getChainWeight( A ) );
+        assertEquals( 2, ranking.getChainWeight( B ) );
+        assertEquals( 2, ranking.getChainWeight( C ) );
+        assertEquals( 1, ranking.getChainWeight( X ) );
+
+        // equal weights fall back to the reactor order
+        assertEquals( new MavenProject[]{ B, C }, sort( ranking, C, B ) );
+        assertEquals( new MavenProject[]{ X, Y, Z }, sort( ranking, Z, X, Y ) );
+    }
+
+    public void testRanksByHistoricalDurations()
+    {
+        Map<MavenProject, Long> durations = new IdentityHashMap<MavenProject, Long>();
+        durations.put( A, 1L );
+        durations.put( B, 1L );
+        durations.put( C, 5L );
+        durations.put( X, 1L );
+        durations.put( Y, 10L );
+        durations.put( Z, 1L );
+
+        CriticalPathRanking ranking = new CriticalPathRanking( new ProjectDependencyGraphStub(), durations );
+        assertEquals( 11, ranking.getChainWeight( B ) );
+        assertEquals( 6, ranking.getChainWeight( C ) );
+        assertEquals( 12, ranking.getChainWeight( A ) );
+        assertEquals( new MavenProject[]{ B, C }, sort( ranking, C, B ) );
+
+        durations.put( Y, 1L );
+        ranking = new CriticalPathRanking( new ProjectDependencyGraphStub(), durations );
+        assertEquals( new MavenProject[]{ C, B }, sort( ranking, B, C ) );
+    }
+
+    public void testUnknownDurationsUseAverage()
+    {
+        Map<MavenProject, Long> durations = new IdentityHashMap<MavenProject, Long>();
+        durations.put( Y, 30L );
+        durations.put( Z, 10L );
+
+        CriticalPathRanking ranking = new CriticalPathRanking( new ProjectDependencyGraphStub(), durations );
+        assertEquals( 20, ranking.getChainWeight( X ) );
+        assertEquals( 50, ranking.getChainWeight( B ) );
+        assertEquals( 40, ranking.getChainWeight( C ) );
+    }
+
+    private static void assertEquals( MavenProject[] expected, List<MavenProject> actual )
+    {
+        assertEquals( expected.length, actual.size() );
+        for ( int i = 0; i < expected.length; i++ )
+        {
+            assertSame( expected[i], actual.get( i ) );
+        }
+    }
+
+    private static List<MavenProject> sort( CriticalPathRanking ranking, MavenProject... projects )
+    {
+        List<MavenProject> result = new ArrayList<MavenProject>();
+        Collections.addAll( result, projects );
+        Collections.sort( result, ranking );
+        return result;
+    }
+}
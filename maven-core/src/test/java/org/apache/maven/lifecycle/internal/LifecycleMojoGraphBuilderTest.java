@@ -0,0 +1,112 @@
+package org.apache.maven.lifecycle.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.execution.BuildSuccess;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.internal.stub.ExecutionEventCatapultStub;
+import org.apache.maven.lifecycle.internal.stub.LifecycleExecutionPlanCalculatorStub;
+import org.apache.maven.lifecycle.internal.stub.LifecycleTaskSegmentCalculatorStub;
+import org.apache.maven.lifecycle.internal.stub.LoggerStub;
+import org.apache.maven.lifecycle.internal.stub.MojoExecutorStub;
+import org.apache.maven.lifecycle.internal.stub.ProjectDependenciesResolverStub;
+import org.apache.maven.lifecycle.internal.stub.ProjectDependencyGraphStub;
+import org.apache.maven.plugin.MojoExecution;
+
+import java.util.List;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class LifecycleMojoGraphBuilderTest
+    extends TestCase
+{
+
+    public void testBuildProjectThreaded()
+        throws Exception
+    {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        ExecutorService executor = Executors.newFixedThreadPool( 10 );
+        try
+        {
+            final MavenSession session = ProjectDependencyGraphStub.getMavenSession();
+            List<TaskSegment> taskSegments = new LifecycleTaskSegmentCalculatorStub().calculateTaskSegments( session );
+            ProjectBuildList projectBuildList =
+                new BuildListCalculator().calculateProjectBuilds( session, taskSegments );
+
+            final MojoExecutorStub mojoExecutorStub = new MojoExecutorStub();
+            LifecycleMojoGraphBuilder builder = new LifecycleMojoGraphBuilder( mojoExecutorStub, getBuilderCommon(),
+                                                                               new LoggerStub(),
+                                                                               new ExecutionEventCatapultStub() );
+            MavenExecutionResult result = new DefaultMavenExecutionResult();
+            ReactorContext buildContext = new ReactorContext( result, null, null, new ReactorBuildStatus(
+                session.getProjectDependencyGraph() ) );
+
+            builder.build( session, buildContext, projectBuildList, taskSegments,
+                           new ExecutorCompletionService<MojoExecutionGraph.Node>( executor ) );
+
+            final int expected = new LifecycleExecutionPlanCalculatorStub().getNumberOfExceutions( projectBuildList );
+            assertEquals( "All executions should be scheduled", expected, mojoExecutorStub.executions.size() );
+            assertFalse( result.hasExceptions() );
+            for ( ProjectSegment projectSegment : projectBuildList )
+            {
+                assertTrue( result.getBuildSummary( projectSegment.getProject() ) instanceof BuildSuccess );
+            }
+
+            // B may only start after A has been packaged
+            int war = indexOf( mojoExecutorStub.executions, "default-war" );
+            int enforce = indexOf( mojoExecutorStub.executions, "enforce-versions" );
+            assertTrue( war >= 0 );
+            assertTrue( war < enforce );
+        }
+        finally
+        {
+            executor.shutdown();
+            Thread.currentThread().setContextClassLoader( loader );
+        }
+    }
+
+    private static int indexOf( List<MojoExecution> executions, String executionId )
+    {
+        synchronized ( executions )
+        {
+            for ( int i = 0; i < executions.size(); i++ )
+            {
+                if ( executionId.equals( executions.get( i ).getExecutionId() ) )
+                {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private BuilderCommon getBuilderCommon()
+    {
+        final LifecycleDebugLogger logger = new LifecycleDebugLogger( new LoggerStub() );
+        final LifecycleDependencyResolver lifecycleDependencyResolver =
+            new LifecycleDependencyResolver( new ProjectDependenciesResolverStub(), new LoggerStub() );
+        return new BuilderCommon( logger, new LifecycleExecutionPlanCalculatorStub(), lifecycleDependencyResolver,
+                                  new LoggerStub() );
+    }
+}
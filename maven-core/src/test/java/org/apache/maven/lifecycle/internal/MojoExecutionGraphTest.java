@@ -0,0 +1,140 @@
+package org.apache.maven.lifecycle.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.MavenExecutionPlan;
+import org.apache.maven.lifecycle.internal.stub.LifecycleExecutionPlanCalculatorStub;
+import org.apache.maven.lifecycle.internal.stub.ProjectDependencyGraphStub;
+import org.apache.maven.project.MavenProject;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.maven.lifecycle.internal.stub.ProjectDependencyGraphStub.*;
+
+public class MojoExecutionGraphTest
+    extends TestCase
+{
+
+    private MojoExecutionGraph newGraph()
+        throws Exception
+    {
+        return newGraph( null );
+    }
+
+    private MojoExecutionGraph newGraph( MavenProject unplanned )
+        throws Exception
+    {
+        MavenSession session = ProjectDependencyGraphStub.getMavenSession();
+        List<ProjectSegment> projectSegments = ProjectDependencyGraphStub.getProjectBuilds( session );
+        for ( Iterator<ProjectSegment> it = projectSegments.iterator(); it.hasNext(); )
+        {
+            if ( it.next().getProject() == unplanned )
+            {
+                it.remove();
+            }
+        }
+
+        LifecycleExecutionPlanCalculatorStub calculator = new LifecycleExecutionPlanCalculatorStub();
+        Map<MavenProject, MavenExecutionPlan> executionPlans = new IdentityHashMap<MavenProject, MavenExecutionPlan>();
+        for ( ProjectSegment projectSegment : projectSegments )
+        {
+            executionPlans.put( projectSegment.getProject(),
+                                calculator.calculateExecutionPlan( session, projectSegment.getProject(), null ) );
+        }
+
+        return new MojoExecutionGraph( projectSegments, executionPlans, new ProjectDependencyGraphStub() );
+    }
+
+    public void testProjectChains()
+        throws Exception
+    {
+        MojoExecutionGraph graph = newGraph();
+
+        List<MojoExecutionGraph.Node> nodes = graph.getNodes( A );
+        assertEquals( 10, nodes.size() );
+        assertTrue( nodes.get( 0 ).isProjectStart() );
+        assertEquals( "default-initialize", nodes.get( 1 ).getPlanItem().getMojoExecution().getExecutionId() );
+        assertTrue( nodes.get( 9 ).isProjectEnd() );
+
+        List<MojoExecutionGraph.Node> roots = graph.getRootSchedulableNodes();
+        assertEquals( 1, roots.size() );
+        assertSame( nodes.get( 0 ), roots.get( 0 ) );
+    }
+
+    public void testDownstreamStartsAfterUpstreamPackage()
+        throws Exception
+    {
+        MojoExecutionGraph graph = newGraph();
+
+        List<MojoExecutionGraph.Node> a = graph.getNodes( A );
+        for ( int i = 0; i < 7; i++ )
+        {
+            List<MojoExecutionGraph.Node> ready = graph.markAsFinished( a.get( i ) );
+            assertEquals( 1, ready.size() );
+            assertSame( a.get( i + 1 ), ready.get( 0 ) );
+        }
+
+        // finishing the war mojo releases A's install mojo as well as the downstream projects B and C
+        MojoExecutionGraph.Node war = a.get( 7 );
+        assertEquals( "default-war", war.getPlanItem().getMojoExecution().getExecutionId() );
+        List<MojoExecutionGraph.Node> ready = graph.markAsFinished( war );
+        assertEquals( 3, ready.size() );
+        assertSame( a.get( 8 ), ready.get( 0 ) );
+        assertSame( graph.getNodes( B ).get( 0 ), ready.get( 1 ) );
+        assertSame( graph.getNodes( C ).get( 0 ), ready.get( 2 ) );
+    }
+
+    public void testUpstreamWithoutPackageGatesOnEarlierPhase()
+        throws Exception
+    {
+        MojoExecutionGraph graph = newGraph();
+
+        // B stops short of the package phase, so X and Y (which depend on B) wait for the mojo of B that is last in
+        // lifecycle order, i.e. testResources as the stubbed lifecycle has process-test-resources after test
+        for ( MojoExecutionGraph.Node node : graph.getNodes( B ) )
+        {
+            boolean gate = node.getPlanItem() != null
+                && "default-testResources".equals( node.getPlanItem().getMojoExecution().getExecutionId() );
+            assertEquals( gate, node.getSuccessors().contains( graph.getNodes( X ).get( 0 ) ) );
+            assertEquals( gate, node.getSuccessors().contains( graph.getNodes( Y ).get( 0 ) ) );
+        }
+    }
+
+    public void testUnplannedUpstreamIsRecordedByDownstreamStart()
+        throws Exception
+    {
+        MojoExecutionGraph graph = newGraph( A );
+
+        assertTrue( graph.getNodes( A ).isEmpty() );
+
+        MojoExecutionGraph.Node b = graph.getNodes( B ).get( 0 );
+        assertTrue( graph.getRootSchedulableNodes().contains( b ) );
+        assertEquals( 1, b.getUnbuiltUpstreamProjects().size() );
+        assertSame( A, b.getUnbuiltUpstreamProjects().get( 0 ) );
+
+        assertTrue( graph.getNodes( X ).get( 0 ).getUnbuiltUpstreamProjects().isEmpty() );
+    }
+
+}
@@ -0,0 +1,195 @@
+package org.apache.maven.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.classworlds.ClassWorld;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.util.FileUtils;
+
+public class DefaultPluginRealmCacheTest
+    extends PlexusTestCase
+{
+
+    private DefaultPluginRealmCache cache;
+
+    private ClassWorld world;
+
+    private File jar;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        System.setProperty( "maven.pluginRealmCache.maxWeight", "1500" );
+        try
+        {
+            cache = (DefaultPluginRealmCache) lookup( PluginRealmCache.class );
+        }
+        finally
+        {
+            System.getProperties().remove( "maven.pluginRealmCache.maxWeight" );
+        }
+
+        world = getContainer().getContainerRealm().getWorld();
+
+        jar = new File( getBasedir(), "target/plugin-realm-cache-test/plugin.jar" );
+        jar.getParentFile().mkdirs();
+        FileUtils.fileWrite( jar.getAbsolutePath(), new String( new char[1000] ).replace( '\0', 'x' ) );
+    }
+
+    @Override
+    protected void tearDown()
+        throws Exception
+    {
+        cache = null;
+        world = null;
+
+        super.tearDown();
+    }
+
+    private Plugin newPlugin( String artifactId )
+    {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId( "org.apache.maven.plugins" );
+        plugin.setArtifactId( artifactId );
+        plugin.setVersion( "1.0" );
+        return plugin;
+    }
+
+    private MavenProject newProject( String artifactId )
+    {
+        Model model = new Model();
+        model.setGroupId( "test" );
+        model.setArtifactId( artifactId );
+        model.setVersion( "1.0" );
+        return new MavenProject( model );
+    }
+
+    private PluginRealmCache.CacheRecord get( Plugin plugin )
+    {
+        return cache.get( plugin, null, null, null, null, Collections.<ArtifactRepository> emptyList() );
+    }
+
+    private PluginRealmCache.CacheRecord put( Plugin plugin )
+        throws Exception
+    {
+        ClassRealm realm = world.newRealm( "test-plugin>" + plugin.getArtifactId(), null );
+
+        Artifact artifact =
+            new DefaultArtifact( plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(), null, "jar", null,
+                                 new DefaultArtifactHandler( "jar" ) );
+        artifact.setFile( jar );
+
+        return cache.put( plugin, null, null, null, null, Collections.<ArtifactRepository> emptyList(), realm,
+                          Collections.singletonList( artifact ) );
+    }
+
+    public void testIdleRealmsAreEvictedWhenOverBudget()
+        throws Exception
+    {
+        Plugin plugin1 = newPlugin( "plugin-1" );
+        Plugin plugin2 = newPlugin( "plugin-2" );
+        MavenProject project1 = newProject( "project-1" );
+        MavenProject project2 = newProject( "project-2" );
+        MavenProject project3 = newProject( "project-3" );
+
+        PluginRealmCache.CacheRecord record1 = put( plugin1 );
+        cache.register( project1, record1 );
+        cache.register( project2, record1 );
+
+        PluginRealmCache.CacheRecord record2 = put( plugin2 );
+        cache.register( project3, record2 );
+
+        // still used by the second project
+        cache.release( project1 );
+        assertSame( record1, get( plugin1 ) );
+        cache.register( project1, record1 );
+        assertEquals( 0, cache.getStats().evictions );
+
+        cache.release( project1 );
+        cache.release( project2 );
+
+        DefaultPluginRealmCache.CacheStats stats = cache.getStats();
+        assertEquals( 1, stats.realms );
+        assertEquals( 0, stats.idleRealms );
+        assertEquals( 1000, stats.weight );
+        assertEquals( 1, stats.evictions );
+
+        assertNull( get( plugin1 ) );
+        assertSame( record2, get( plugin2 ) );
+
+        List<?> realmIds = idsOf( world.getRealms() );
+        assertFalse( realmIds.contains( record1.realm.getId() ) );
+        assertTrue( realmIds.contains( record2.realm.getId() ) );
+    }
+
+    public void testRealmLookedUpAfterReleaseIsNotEvicted()
+        throws Exception
+    {
+        Plugin plugin1 = newPlugin( "plugin-1" );
+        Plugin plugin2 = newPlugin( "plugin-2" );
+        MavenProject project1 = newProject( "project-1" );
+        MavenProject project2 = newProject( "project-2" );
+
+        PluginRealmCache.CacheRecord record1 = put( plugin1 );
+        cache.register( project1, record1 );
+
+        cache.release( project1 );
+        assertEquals( 1, cache.getStats().idleRealms );
+
+        // about to be registered for another project, must survive the eviction triggered meanwhile
+        assertSame( record1, get( plugin1 ) );
+
+        PluginRealmCache.CacheRecord record2 = put( plugin2 );
+        cache.register( project2, record2 );
+        cache.release( project2 );
+
+        assertSame( record1, get( plugin1 ) );
+        assertNull( get( plugin2 ) );
+        assertEquals( 1, cache.getStats().evictions );
+    }
+
+    private static List<String> idsOf( Collection<ClassRealm> realms )
+    {
+        List<String> ids = new ArrayList<String>();
+        for ( ClassRealm realm : realms )
+        {
+            ids.add( realm.getId() );
+        }
+        return ids;
+    }
+
+}
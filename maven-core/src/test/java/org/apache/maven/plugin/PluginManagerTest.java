@@ -1,16 +1,24 @@
 package org.apache.maven.plugin;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import org.apache.maven.AbstractCoreMavenComponentTestCase;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.DefaultRepositoryRequest;
 import org.apache.maven.artifact.repository.RepositoryRequest;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.internal.BuilderCommon;
+import org.apache.maven.lifecycle.internal.DependencyContext;
+import org.apache.maven.lifecycle.internal.MojoExecutor;
+import org.apache.maven.lifecycle.internal.ProjectIndex;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
 import org.codehaus.plexus.component.annotations.Requirement;
 
 public class PluginManagerTest
@@ -22,8 +30,17 @@ public class PluginManagerTest
     protected void setUp()
         throws Exception
     {
-        super.setUp();
-        pluginManager = (DefaultBuildPluginManager) lookup( BuildPluginManager.class );
+        // evict plugin realms as soon as they are no longer used
+        System.setProperty( "maven.pluginRealmCache.maxWeight", "0" );
+        try
+        {
+            super.setUp();
+            pluginManager = (DefaultBuildPluginManager) lookup( BuildPluginManager.class );
+        }
+        finally
+        {
+            System.getProperties().remove( "maven.pluginRealmCache.maxWeight" );
+        }
     }
     
     @Override
@@ -245,6 +262,88 @@ public class PluginManagerTest
         fail( "Can't find the system scoped dependency in the plugin artifacts." );
     }
     
+    public void testConcurrentPluginRealmSetup()
+        throws Exception
+    {
+        final MavenSession session = createMavenSession( getProject( "project-contributing-system-scope-plugin-dep" ) );
+        Plugin plugin = session.getCurrentProject().getPlugin( "org.apache.maven.its.plugins:maven-it-plugin" );
+
+        final CountDownLatch start = new CountDownLatch( 1 );
+        final List<ClassRealm> realms = Collections.synchronizedList( new ArrayList<ClassRealm>() );
+        final List<Throwable> errors = Collections.synchronizedList( new ArrayList<Throwable>() );
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for ( int i = 0; i < 8; i++ )
+        {
+            final PluginDescriptor pluginDescriptor = pluginManager.loadPlugin( plugin, getRepositoryRequest( session ) );
+
+            Thread thread = new Thread()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        start.await();
+                        realms.add( pluginManager.getPluginRealm( session, pluginDescriptor ) );
+                    }
+                    catch ( Throwable e )
+                    {
+                        errors.add( e );
+                    }
+                }
+            };
+            thread.start();
+            threads.add( thread );
+        }
+
+        start.countDown();
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+
+        assertEquals( Collections.emptyList(), errors );
+        assertEquals( 8, realms.size() );
+        for ( ClassRealm realm : realms )
+        {
+            assertNotNull( realm );
+            assertSame( realms.get( 0 ), realm );
+        }
+    }
+
+    public void testRealmUsedByForkedExecutionIsEvictedAfterTheBuild()
+        throws Exception
+    {
+        MavenSession session = createMavenSession( getProject( "project-contributing-system-scope-plugin-dep" ) );
+        MavenProject project = session.getCurrentProject();
+        Plugin plugin = project.getPlugin( "org.apache.maven.its.plugins:maven-it-plugin" );
+        MojoDescriptor mojoDescriptor =
+            pluginManager.getMojoDescriptor( plugin, "generate-metadata", getRepositoryRequest( session ) );
+
+        MojoExecution forkingExecution = new MojoExecution( mojoDescriptor );
+        forkingExecution.setForkedExecutions( BuilderCommon.getKey( project ),
+                                              Collections.singletonList( new MojoExecution( mojoDescriptor ) ) );
+
+        MojoExecutor mojoExecutor = lookup( MojoExecutor.class );
+        List<MavenProject> forkedProjects =
+            mojoExecutor.executeForkedExecutions( forkingExecution, session, new ProjectIndex( session.getProjects() ),
+                                                  new DependencyContext( Collections.<String> emptyList(),
+                                                                         Collections.<String> emptyList(), false ) );
+
+        // the forked mojo ran against a clone of the project
+        assertEquals( 1, forkedProjects.size() );
+        assertNotSame( project, forkedProjects.get( 0 ).getExecutionProject() );
+
+        DefaultPluginRealmCache cache = (DefaultPluginRealmCache) lookup( PluginRealmCache.class );
+        assertEquals( 1, cache.getStats().realms );
+        assertEquals( 0, cache.getStats().idleRealms );
+
+        cache.release( session.clone() );
+
+        assertEquals( 0, cache.getStats().realms );
+        assertEquals( 1, cache.getStats().evictions );
+    }
+
     // -----------------------------------------------------------------------------------------------
     // Testing help
     // -----------------------------------------------------------------------------------------------
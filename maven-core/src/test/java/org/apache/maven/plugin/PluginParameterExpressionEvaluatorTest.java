@@ -231,6 +231,26 @@ public class PluginParameterExpressionEvaluatorTest
         assertEquals( "test with version: 1", value );
     }
 
+    public void testSameExpressionEvaluatedForDifferentProjects()
+        throws Exception
+    {
+        String key = "${project.artifactId}-${project.version}/${basedir}$${var}";
+
+        for ( int i = 1; i <= 2; i++ )
+        {
+            Model model = new Model();
+            model.setArtifactId( "test" + i );
+            model.setVersion( String.valueOf( i ) );
+
+            MavenProject project = new MavenProject( model );
+
+            ExpressionEvaluator ee = createExpressionEvaluator( project, null, new Properties() );
+
+            assertEquals( "test" + i + "-" + i + "/" + ee.evaluate( "${basedir}" ) + "${var}", ee.evaluate( key ) );
+            assertEquals( String.valueOf( i ), ee.evaluate( "${project.version}" ) );
+        }
+    }
+
     public void testMissingPOMPropertyRefInLargerExpression()
         throws Exception
     {
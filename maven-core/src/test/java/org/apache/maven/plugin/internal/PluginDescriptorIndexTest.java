@@ -0,0 +1,162 @@
+package org.apache.maven.plugin.internal;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+
+import junit.framework.TestCase;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
+
+public class PluginDescriptorIndexTest
+    extends TestCase
+{
+
+    private static final String PLUGIN_XML =
+        "<plugin><groupId>org.apache.maven.plugins</groupId><artifactId>maven-it-plugin</artifactId>"
+            + "<version>0.1</version><mojos><mojo><goal>it</goal><parameters><parameter><name>a</name>"
+            + "<type>java.lang.String</type><required>true</required></parameter><parameter><name>b</name>"
+            + "<type>java.lang.String</type><required>false</required><description>\u00e4\u00f6\u00fc</description>"
+            + "</parameter></parameters><configuration><a implementation=\"java.lang.String\">${a}</a>"
+            + "<b implementation=\"java.lang.String\" default-value=\"b\"/></configuration></mojo></mojos></plugin>";
+
+    private File basedir;
+
+    private File pluginFile;
+
+    private PluginDescriptorIndex index;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+
+        basedir = new File( "target/plugin-descriptor-index-test" ).getAbsoluteFile();
+        FileUtils.deleteDirectory( basedir );
+
+        pluginFile = new File( basedir, "repo/maven-it-plugin-0.1.jar" );
+        pluginFile.getParentFile().mkdirs();
+        FileUtils.fileWrite( pluginFile.getAbsolutePath(), "jar" );
+
+        index = new PluginDescriptorIndex( new File( basedir, "index" ) );
+    }
+
+    @Override
+    protected void tearDown()
+        throws Exception
+    {
+        FileUtils.deleteDirectory( basedir );
+
+        super.tearDown();
+    }
+
+    public void testRoundTrip()
+        throws Exception
+    {
+        Xpp3Dom dom = Xpp3DomBuilder.build( new StringReader( PLUGIN_XML ) );
+
+        assertNull( index.get( pluginFile, 3, 1000 ) );
+
+        index.put( pluginFile, 3, 1000, dom );
+
+        assertEquals( dom, index.get( pluginFile, 3, 1000 ) );
+    }
+
+    public void testChangedPluginIsIgnored()
+        throws Exception
+    {
+        index.put( pluginFile, 3, 1000, Xpp3DomBuilder.build( new StringReader( PLUGIN_XML ) ) );
+
+        assertNull( index.get( pluginFile, 4, 1000 ) );
+        assertNull( index.get( pluginFile, 3, 2000 ) );
+        assertNull( index.get( new File( basedir, "other/maven-it-plugin-0.1.jar" ), 3, 1000 ) );
+    }
+
+    public void testTruncatedEntryIsIgnored()
+        throws Exception
+    {
+        index.put( pluginFile, 3, 1000, Xpp3DomBuilder.build( new StringReader( PLUGIN_XML ) ) );
+
+        File[] files = new File( basedir, "index" ).listFiles();
+        assertEquals( 1, files.length );
+
+        RandomAccessFile raf = new RandomAccessFile( files[0], "rw" );
+        try
+        {
+            raf.setLength( raf.length() - 10 );
+        }
+        finally
+        {
+            raf.close();
+        }
+
+        assertNull( index.get( pluginFile, 3, 1000 ) );
+    }
+
+    public void testZeroFilledEntryIsIgnored()
+        throws Exception
+    {
+        index.put( pluginFile, 3, 1000, Xpp3DomBuilder.build( new StringReader( PLUGIN_XML ) ) );
+
+        File[] files = new File( basedir, "index" ).listFiles();
+        assertEquals( 1, files.length );
+
+        RandomAccessFile raf = new RandomAccessFile( files[0], "rw" );
+        try
+        {
+            raf.seek( raf.length() / 2 );
+            raf.write( new byte[16] );
+        }
+        finally
+        {
+            raf.close();
+        }
+
+        assertNull( index.get( pluginFile, 3, 1000 ) );
+    }
+
+    public void testEntryWithTrailingBytesIsIgnored()
+        throws Exception
+    {
+        index.put( pluginFile, 3, 1000, Xpp3DomBuilder.build( new StringReader( PLUGIN_XML ) ) );
+
+        File[] files = new File( basedir, "index" ).listFiles();
+        assertEquals( 1, files.length );
+
+        RandomAccessFile raf = new RandomAccessFile( files[0], "rw" );
+        try
+        {
+            raf.seek( raf.length() );
+            raf.write( new byte[] { 1, 2, 3 } );
+        }
+        finally
+        {
+            raf.close();
+        }
+
+        assertNull( index.get( pluginFile, 3, 1000 ) );
+    }
+
+}
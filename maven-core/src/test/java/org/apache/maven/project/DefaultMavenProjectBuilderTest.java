@@ -21,6 +21,8 @@ package org.apache.maven.project;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -114,6 +116,43 @@ public class DefaultMavenProjectBuilderTest
         assertEquals( "first", project.getBuildPlugins().get( 0 ).getExecutions().get( 0 ).getId() );
     }
 
+    public void testConcurrentReactorLoadingKeepsOrder()
+        throws Exception
+    {
+        File pom = getTestFile( "src/test/resources/projects/concurrent-loading/pom.xml" );
+
+        List<String> expected = getArtifactIds( buildReactor( pom, null ) );
+        assertEquals( Arrays.asList( "a", "b1", "b2", "b", "c", "root" ), expected );
+
+        for ( int i = 0; i < 5; i++ )
+        {
+            assertEquals( expected, getArtifactIds( buildReactor( pom, "4" ) ) );
+        }
+    }
+
+    private List<ProjectBuildingResult> buildReactor( File pom, String threads )
+        throws Exception
+    {
+        ProjectBuildingRequest configuration = new DefaultProjectBuildingRequest();
+        configuration.setLocalRepository( getLocalRepository() );
+        if ( threads != null )
+        {
+            configuration.getUserProperties().setProperty( DefaultProjectBuilder.CONCURRENT_LOADING_PROPERTY, threads );
+        }
+
+        return projectBuilder.build( Collections.singletonList( pom ), true, configuration );
+    }
+
+    private static List<String> getArtifactIds( List<ProjectBuildingResult> results )
+    {
+        List<String> artifactIds = new ArrayList<String>();
+        for ( ProjectBuildingResult result : results )
+        {
+            artifactIds.add( result.getProject().getArtifactId() );
+        }
+        return artifactIds;
+    }
+
     public void testBuildStubModelForMissingRemotePom()
         throws Exception
     {
@@ -19,10 +19,16 @@ package org.apache.maven.project.artifact;
  * under the License.
  */
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
+import org.apache.maven.artifact.metadata.ResolutionGroup;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.resolver.filter.ExcludesArtifactFilter;
 import org.apache.maven.project.artifact.DefaultMavenMetadataCache.CacheKey;
@@ -76,4 +82,142 @@ public class DefaultMavenMetadataCacheTest
         
         assertEquals(k1.hashCode(), k2.hashCode());
     }
+
+    private ResolutionGroup newResolutionGroup( Artifact artifact )
+    {
+        return new ResolutionGroup( artifact, Collections.<Artifact> emptySet(),
+                                    Collections.<ArtifactRepository> emptyList() );
+    }
+
+    public void testConcurrentGetLoadsOnlyOnce()
+        throws Exception
+    {
+        final DefaultMavenMetadataCache cache = new DefaultMavenMetadataCache();
+        final Artifact artifact = repositorySystem.createArtifact( "testGroup", "testArtifact", "1.2.3", "pom" );
+        final ArtifactRepository lr = repositorySystem.createDefaultLocalRepository();
+        final List<ArtifactRepository> rrs =
+            Collections.singletonList( repositorySystem.createDefaultRemoteRepository() );
+
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch( 1 );
+        final CountDownLatch release = new CountDownLatch( 1 );
+        final List<Object> results = Collections.synchronizedList( new ArrayList<Object>() );
+
+        final DefaultMavenMetadataCache.Loader loader = new DefaultMavenMetadataCache.Loader()
+        {
+            public ResolutionGroup load()
+                throws ArtifactMetadataRetrievalException
+            {
+                loads.incrementAndGet();
+                started.countDown();
+                try
+                {
+                    release.await();
+                }
+                catch ( InterruptedException e )
+                {
+                    throw new ArtifactMetadataRetrievalException( "interrupted", e, artifact );
+                }
+                return newResolutionGroup( artifact );
+            }
+        };
+
+        Runnable request = new Runnable()
+        {
+            public void run()
+            {
+                try
+                {
+                    results.add( cache.get( artifact, false, lr, rrs, loader ) );
+                }
+                catch ( Exception e )
+                {
+                    results.add( e );
+                }
+            }
+        };
+
+        Thread[] threads = new Thread[8];
+        threads[0] = new Thread( request );
+        threads[0].start();
+        started.await();
+        for ( int i = 1; i < threads.length; i++ )
+        {
+            threads[i] = new Thread( request );
+            threads[i].start();
+        }
+        release.countDown();
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+
+        assertEquals( 1, loads.get() );
+        assertEquals( threads.length, results.size() );
+        for ( Object result : results )
+        {
+            assertTrue( String.valueOf( result ), result instanceof ResolutionGroup );
+        }
+        assertEquals( 1, cache.getMissCount() );
+        assertEquals( threads.length - 1, cache.getHitCount() );
+    }
+
+    public void testFailedLoadIsNotCached()
+        throws Exception
+    {
+        DefaultMavenMetadataCache cache = new DefaultMavenMetadataCache();
+        final Artifact artifact = repositorySystem.createArtifact( "testGroup", "testArtifact", "1.2.3", "pom" );
+        ArtifactRepository lr = repositorySystem.createDefaultLocalRepository();
+        List<ArtifactRepository> rrs = Collections.emptyList();
+
+        try
+        {
+            cache.get( artifact, false, lr, rrs, new DefaultMavenMetadataCache.Loader()
+            {
+                public ResolutionGroup load()
+                    throws ArtifactMetadataRetrievalException
+                {
+                    throw new ArtifactMetadataRetrievalException( "test", null, artifact );
+                }
+            } );
+            fail( "load failure not propagated" );
+        }
+        catch ( ArtifactMetadataRetrievalException e )
+        {
+            assertEquals( "test", e.getMessage() );
+        }
+
+        assertNull( cache.get( artifact, false, lr, rrs ) );
+        assertEquals( 0, cache.getWeight() );
+    }
+
+    public void testEvictionByWeight()
+        throws Exception
+    {
+        DefaultMavenMetadataCache cache = new DefaultMavenMetadataCache();
+        cache.setMaxWeight( 3 );
+        ArtifactRepository lr = repositorySystem.createDefaultLocalRepository();
+        List<ArtifactRepository> rrs = Collections.emptyList();
+
+        List<Artifact> artifacts = new ArrayList<Artifact>();
+        for ( int i = 0; i < 5; i++ )
+        {
+            Artifact artifact = repositorySystem.createArtifact( "testGroup", "testArtifact", "1." + i, "pom" );
+            artifacts.add( artifact );
+            cache.put( artifact, false, lr, rrs, newResolutionGroup( artifact ) );
+            if ( i == 2 )
+            {
+                // touch the first one to make the second and third ones the least recently used
+                assertNotNull( cache.get( artifacts.get( 0 ), false, lr, rrs ) );
+            }
+        }
+
+        assertEquals( 3, cache.getWeight() );
+        assertEquals( 2, cache.getEvictionCount() );
+        assertNull( cache.get( artifacts.get( 1 ), false, lr, rrs ) );
+        assertNull( cache.get( artifacts.get( 2 ), false, lr, rrs ) );
+        assertNotNull( cache.get( artifacts.get( 0 ), false, lr, rrs ) );
+        assertNotNull( cache.get( artifacts.get( 4 ), false, lr, rrs ) );
+    }
+
 }
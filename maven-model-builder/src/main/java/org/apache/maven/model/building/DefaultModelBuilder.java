@@ -74,6 +74,12 @@ import org.codehaus.plexus.component.annotations.Requirement;
 public class DefaultModelBuilder
     implements ModelBuilder
 {
+
+    /**
+     * The name of the user property that, if set to {@code true}, selects the "compiled" model interpolator.
+     */
+    public static final String COMPILED_INTERPOLATION_PROPERTY = "maven3.compiledInterpolation";
+
     @Requirement
     private ModelProcessor modelProcessor;
 
@@ -86,6 +92,9 @@ public class DefaultModelBuilder
     @Requirement
     private ModelInterpolator modelInterpolator;
 
+    @Requirement( hint = "compiled", optional = true )
+    private ModelInterpolator compiledModelInterpolator;
+
     @Requirement
     private ModelPathTranslator modelPathTranslator;
 
@@ -149,6 +158,12 @@ public class DefaultModelBuilder
         return this;
     }
 
+    public DefaultModelBuilder setCompiledModelInterpolator( ModelInterpolator compiledModelInterpolator )
+    {
+        this.compiledModelInterpolator = compiledModelInterpolator;
+        return this;
+    }
+
     public DefaultModelBuilder setModelPathTranslator( ModelPathTranslator modelPathTranslator )
     {
         this.modelPathTranslator = modelPathTranslator;
@@ -641,7 +656,14 @@ public class DefaultModelBuilder
 
     private Model interpolateModel( Model model, ModelBuildingRequest request, ModelProblemCollector problems )
     {
-        Model result = modelInterpolator.interpolateModel( model, model.getProjectDirectory(), request, problems );
+        ModelInterpolator interpolator = modelInterpolator;
+        if ( compiledModelInterpolator != null
+            && Boolean.parseBoolean( request.getUserProperties().getProperty( COMPILED_INTERPOLATION_PROPERTY ) ) )
+        {
+            interpolator = compiledModelInterpolator;
+        }
+
+        Model result = interpolator.interpolateModel( model, model.getProjectDirectory(), request, problems );
         result.setPomFile( model.getPomFile() );
         return result;
     }
@@ -67,7 +67,7 @@ public abstract class AbstractStringBasedModelInterpolator
      */
     private static final String BUILD_TIMESTAMP_FORMAT_PROPERTY = "maven.build.timestamp.format";
 
-    private static final List<String> PROJECT_PREFIXES = Arrays.asList( new String[]{ "pom.", "project." } );
+    static final List<String> PROJECT_PREFIXES = Arrays.asList( new String[]{ "pom.", "project." } );
 
     private static final Collection<String> TRANSLATED_PATH_EXPRESSIONS;
 
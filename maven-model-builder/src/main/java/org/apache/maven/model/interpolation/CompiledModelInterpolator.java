@@ -0,0 +1,498 @@
+package org.apache.maven.model.interpolation;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.ModelBuildingRequest;
+import org.apache.maven.model.building.ModelProblem.Severity;
+import org.apache.maven.model.building.ModelProblemCollector;
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.interpolation.InterpolationException;
+import org.codehaus.plexus.interpolation.InterpolationPostProcessor;
+import org.codehaus.plexus.interpolation.Interpolator;
+import org.codehaus.plexus.interpolation.PrefixAwareRecursionInterceptor;
+import org.codehaus.plexus.interpolation.RecursionInterceptor;
+import org.codehaus.plexus.interpolation.StringSearchInterpolator;
+import org.codehaus.plexus.interpolation.ValueSource;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A model interpolator that walks the model along precompiled per-class plans. A plan lists only those fields of a
+ * class that can hold expressions, i.e. non-final strings, collections, maps, arrays and references to other objects,
+ * and has its fields made accessible once when it is compiled. Traversal therefore needs no locking on the fields,
+ * and each interpolation uses its own interpolator instead of sharing (and synchronizing on) a single one. Strings
+ * without an expression are recognized by a single scan and left alone.
+ * <p/>
+ * The interpolation results are the same as those of {@link StringSearchModelInterpolator}, except that static
+ * fields are never touched and the elements of unmodifiable collections are still traversed for nested objects.
+ */
+@Component( role = ModelInterpolator.class, hint = "compiled" )
+public class CompiledModelInterpolator
+    extends AbstractStringBasedModelInterpolator
+{
+
+    private static final Map<Class<?>, ClassPlan> PLANS = new ConcurrentHashMap<Class<?>, ClassPlan>( 80 );
+
+    public Model interpolateModel( Model model, File projectDir, ModelBuildingRequest config,
+                                   ModelProblemCollector problems )
+    {
+        interpolateObject( model, model, projectDir, config, problems );
+
+        return model;
+    }
+
+    protected void interpolateObject( Object obj, Model model, File projectDir, ModelBuildingRequest config,
+                                      ModelProblemCollector problems )
+    {
+        Interpolator interpolator = createInterpolator();
+        for ( ValueSource vs : createValueSources( model, projectDir, config, problems ) )
+        {
+            interpolator.addValueSource( vs );
+        }
+        for ( InterpolationPostProcessor postProcessor : createPostProcessors( model, projectDir, config ) )
+        {
+            interpolator.addPostProcessor( postProcessor );
+        }
+
+        RecursionInterceptor recursionInterceptor = new PrefixAwareRecursionInterceptor( PROJECT_PREFIXES );
+
+        new Traversal( interpolator, recursionInterceptor, problems ).run( obj );
+    }
+
+    protected Interpolator createInterpolator()
+    {
+        StringSearchInterpolator interpolator = new StringSearchInterpolator();
+        interpolator.setCacheAnswers( true );
+
+        return interpolator;
+    }
+
+    static ClassPlan getPlan( Class<?> cls )
+    {
+        ClassPlan plan = PLANS.get( cls );
+        if ( plan == null )
+        {
+            plan = ClassPlan.compile( cls );
+            PLANS.put( cls, plan );
+        }
+        return plan;
+    }
+
+    static boolean hasExpression( String value )
+    {
+        return value.indexOf( "${" ) >= 0;
+    }
+
+    /**
+     * The fields of a class (including inherited ones) that need to be visited during interpolation.
+     */
+    static final class ClassPlan
+    {
+
+        static final ClassPlan EMPTY = new ClassPlan( new FieldPlan[0] );
+
+        final FieldPlan[] fields;
+
+        private ClassPlan( FieldPlan[] fields )
+        {
+            this.fields = fields;
+        }
+
+        static ClassPlan compile( final Class<?> cls )
+        {
+            if ( cls.isArray() || !isQualifiedForInterpolation( cls ) )
+            {
+                return EMPTY;
+            }
+
+            final List<FieldPlan> fields = new ArrayList<FieldPlan>();
+
+            AccessController.doPrivileged( new PrivilegedAction<Object>()
+            {
+                public Object run()
+                {
+                    for ( Class<?> c = cls; c != null && isQualifiedForInterpolation( c ); c = c.getSuperclass() )
+                    {
+                        for ( Field field : c.getDeclaredFields() )
+                        {
+                            FieldPlan fieldPlan = FieldPlan.compile( field );
+                            if ( fieldPlan != null )
+                            {
+                                field.setAccessible( true );
+                                fields.add( fieldPlan );
+                            }
+                        }
+                    }
+                    return null;
+                }
+            } );
+
+            return fields.isEmpty() ? EMPTY : new ClassPlan( fields.toArray( new FieldPlan[fields.size()] ) );
+        }
+
+        boolean isEmpty()
+        {
+            return fields.length <= 0;
+        }
+
+        private static boolean isQualifiedForInterpolation( Class<?> cls )
+        {
+            return !cls.getName().startsWith( "java" );
+        }
+
+    }
+
+    /**
+     * A field to visit and how to visit it.
+     */
+    static final class FieldPlan
+    {
+
+        static final int STRING = 0;
+
+        static final int COLLECTION = 1;
+
+        static final int MAP = 2;
+
+        static final int ARRAY = 3;
+
+        static final int OBJECT = 4;
+
+        final Field field;
+
+        final int kind;
+
+        private FieldPlan( Field field, int kind )
+        {
+            this.field = field;
+            this.kind = kind;
+        }
+
+        static FieldPlan compile( Field field )
+        {
+            Class<?> type = field.getType();
+            int modifiers = field.getModifiers();
+
+            if ( type.isPrimitive() || Modifier.isStatic( modifiers ) || "parent".equals( field.getName() ) )
+            {
+                return null;
+            }
+            else if ( String.class == type )
+            {
+                return Modifier.isFinal( modifiers ) ? null : new FieldPlan( field, STRING );
+            }
+            else if ( Collection.class.isAssignableFrom( type ) )
+            {
+                return new FieldPlan( field, COLLECTION );
+            }
+            else if ( Map.class.isAssignableFrom( type ) )
+            {
+                return new FieldPlan( field, MAP );
+            }
+            else if ( type.isArray() )
+            {
+                return type.getComponentType().isPrimitive() ? null : new FieldPlan( field, ARRAY );
+            }
+            else if ( Object.class == type || type.isInterface() || !type.getName().startsWith( "java" ) )
+            {
+                return new FieldPlan( field, OBJECT );
+            }
+
+            // boxed primitives, files etc. never carry expressions
+            return null;
+        }
+
+    }
+
+    /**
+     * The state of a single interpolation run, not thread-safe.
+     */
+    private static final class Traversal
+    {
+
+        private final LinkedList<Object> targets = new LinkedList<Object>();
+
+        private final Interpolator interpolator;
+
+        private final RecursionInterceptor recursionInterceptor;
+
+        private final ModelProblemCollector problems;
+
+        Traversal( Interpolator interpolator, RecursionInterceptor recursionInterceptor,
+                   ModelProblemCollector problems )
+        {
+            this.interpolator = interpolator;
+            this.recursionInterceptor = recursionInterceptor;
+            this.problems = problems;
+        }
+
+        void run( Object root )
+        {
+            try
+            {
+                visitValue( root );
+
+                while ( !targets.isEmpty() )
+                {
+                    visitObject( targets.removeFirst() );
+                }
+            }
+            finally
+            {
+                interpolator.clearAnswers();
+            }
+        }
+
+        private String interpolate( String value )
+        {
+            try
+            {
+                return interpolator.interpolate( value, recursionInterceptor );
+            }
+            catch ( InterpolationException e )
+            {
+                problems.add( Severity.ERROR, e.getMessage(), null, e );
+                return value;
+            }
+            finally
+            {
+                interpolator.clearFeedback();
+            }
+        }
+
+        /**
+         * Schedules a nested value for traversal unless it is known to not contain any expressions.
+         */
+        private void visitValue( Object value )
+        {
+            if ( value == null )
+            {
+                return;
+            }
+
+            if ( value.getClass().isArray() )
+            {
+                visitArray( value );
+            }
+            else if ( !getPlan( value.getClass() ).isEmpty() )
+            {
+                targets.add( value );
+            }
+        }
+
+        private void visitObject( Object target )
+        {
+            for ( FieldPlan fieldPlan : getPlan( target.getClass() ).fields )
+            {
+                Field field = fieldPlan.field;
+                try
+                {
+                    Object value = field.get( target );
+                    if ( value == null )
+                    {
+                        continue;
+                    }
+
+                    switch ( fieldPlan.kind )
+                    {
+                        case FieldPlan.STRING:
+                            String string = (String) value;
+                            if ( hasExpression( string ) )
+                            {
+                                String interpolated = interpolate( string );
+                                if ( !interpolated.equals( string ) )
+                                {
+                                    field.set( target, interpolated );
+                                }
+                            }
+                            break;
+                        case FieldPlan.COLLECTION:
+                            visitCollection( (Collection<?>) value );
+                            break;
+                        case FieldPlan.MAP:
+                            visitMap( (Map<?, ?>) value );
+                            break;
+                        default:
+                            visitValue( value );
+                    }
+                }
+                catch ( IllegalArgumentException e )
+                {
+                    problems.add( Severity.ERROR, "Failed to interpolate field: " + field + " on class: "
+                        + target.getClass().getName(), null, e );
+                }
+                catch ( IllegalAccessException e )
+                {
+                    problems.add( Severity.ERROR, "Failed to interpolate field: " + field + " on class: "
+                        + target.getClass().getName(), null, e );
+                }
+            }
+        }
+
+        @SuppressWarnings( "unchecked" )
+        private void visitCollection( Collection<?> collection )
+        {
+            if ( collection.isEmpty() )
+            {
+                return;
+            }
+
+            if ( collection instanceof List<?> )
+            {
+                for ( ListIterator<Object> it = ( (List<Object>) collection ).listIterator(); it.hasNext(); )
+                {
+                    Object value = it.next();
+                    if ( value instanceof String )
+                    {
+                        String string = (String) value;
+                        if ( hasExpression( string ) )
+                        {
+                            String interpolated = interpolate( string );
+                            if ( !interpolated.equals( string ) )
+                            {
+                                try
+                                {
+                                    it.set( interpolated );
+                                }
+                                catch ( UnsupportedOperationException e )
+                                {
+                                    // unmodifiable, leave as is
+                                }
+                            }
+                        }
+                    }
+                    else
+                    {
+                        visitValue( value );
+                    }
+                }
+            }
+            else
+            {
+                List<Object> values = new ArrayList<Object>( collection.size() );
+                boolean changed = false;
+                for ( Object value : collection )
+                {
+                    if ( value instanceof String && hasExpression( (String) value ) )
+                    {
+                        String interpolated = interpolate( (String) value );
+                        changed |= !interpolated.equals( value );
+                        value = interpolated;
+                    }
+                    else
+                    {
+                        visitValue( value );
+                    }
+                    values.add( value );
+                }
+
+                if ( changed )
+                {
+                    try
+                    {
+                        // re-add in iteration order to preserve the order of ordered collections
+                        ( (Collection<Object>) collection ).clear();
+                        ( (Collection<Object>) collection ).addAll( values );
+                    }
+                    catch ( UnsupportedOperationException e )
+                    {
+                        // unmodifiable, leave as is
+                    }
+                }
+            }
+        }
+
+        @SuppressWarnings( "unchecked" )
+        private void visitMap( Map<?, ?> map )
+        {
+            for ( Map.Entry<Object, Object> entry : ( (Map<Object, Object>) map ).entrySet() )
+            {
+                Object value = entry.getValue();
+                if ( value instanceof String )
+                {
+                    String string = (String) value;
+                    if ( hasExpression( string ) )
+                    {
+                        String interpolated = interpolate( string );
+                        if ( !interpolated.equals( string ) )
+                        {
+                            try
+                            {
+                                entry.setValue( interpolated );
+                            }
+                            catch ( UnsupportedOperationException e )
+                            {
+                                // unmodifiable, leave as is
+                            }
+                        }
+                    }
+                }
+                else
+                {
+                    visitValue( value );
+                }
+            }
+        }
+
+        private void visitArray( Object array )
+        {
+            if ( array.getClass().getComponentType().isPrimitive() )
+            {
+                return;
+            }
+
+            Object[] values = (Object[]) array;
+            for ( int i = 0; i < values.length; i++ )
+            {
+                Object value = values[i];
+                if ( value instanceof String )
+                {
+                    String string = (String) value;
+                    if ( hasExpression( string ) )
+                    {
+                        String interpolated = interpolate( string );
+                        if ( !interpolated.equals( string ) )
+                        {
+                            values[i] = interpolated;
+                        }
+                    }
+                }
+                else
+                {
+                    visitValue( value );
+                }
+            }
+        }
+
+    }
+
+}
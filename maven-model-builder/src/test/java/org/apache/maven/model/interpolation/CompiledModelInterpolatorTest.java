@@ -0,0 +1,224 @@
+package org.apache.maven.model.interpolation;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.building.DefaultModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuildingRequest;
+import org.apache.maven.model.building.SimpleProblemCollector;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.model.path.PathTranslator;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import java.io.File;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CompiledModelInterpolatorTest
+    extends AbstractModelInterpolatorTest
+{
+
+    protected ModelInterpolator createInterpolator( PathTranslator translator )
+        throws Exception
+    {
+        return createInterpolator();
+    }
+
+    protected ModelInterpolator createInterpolator()
+        throws Exception
+    {
+        return lookup( ModelInterpolator.class, "compiled" );
+    }
+
+    private static ModelBuildingRequest newRequest()
+    {
+        Properties props = new Properties();
+        props.setProperty( "key", "value" );
+        props.setProperty( "dir", "target/dir" );
+
+        ModelBuildingRequest request = new DefaultModelBuildingRequest();
+        request.setUserProperties( props );
+        return request;
+    }
+
+    private static Model newModel()
+    {
+        Model model = new Model();
+        model.setGroupId( "test" );
+        model.setArtifactId( "test" );
+        model.setVersion( "1.0" );
+        model.setName( "${project.artifactId} ${key}" );
+        model.setUrl( "http://maven.apache.org/${project.artifactId}/../x" );
+        model.getProperties().setProperty( "prop", "${project.version}" );
+        model.addModule( "${key}" );
+
+        Dependency dependency = new Dependency();
+        dependency.setGroupId( "${project.groupId}" );
+        dependency.setArtifactId( "dep" );
+        dependency.setVersion( "${undefined}" );
+        model.addDependency( dependency );
+
+        Build build = new Build();
+        build.setDirectory( "${dir}" );
+        build.setOutputDirectory( "${project.build.directory}/classes" );
+        model.setBuild( build );
+
+        Xpp3Dom child = new Xpp3Dom( "source" );
+        child.setValue( "${project.build.outputDirectory}" );
+        Xpp3Dom configuration = new Xpp3Dom( "configuration" );
+        configuration.setAttribute( "attr", "${key}" );
+        configuration.addChild( child );
+
+        Plugin plugin = new Plugin();
+        plugin.setArtifactId( "plugin" );
+        plugin.setConfiguration( configuration );
+        build.addPlugin( plugin );
+
+        return model;
+    }
+
+    private static String toXml( Model model )
+        throws Exception
+    {
+        StringWriter writer = new StringWriter();
+        new MavenXpp3Writer().write( writer, model );
+        return writer.toString();
+    }
+
+    private String interpolate( ModelInterpolator interpolator, Model model )
+        throws Exception
+    {
+        SimpleProblemCollector problems = new SimpleProblemCollector();
+        Model result = interpolator.interpolateModel( model, getTestFile( "." ), newRequest(), problems );
+        assertProblemFree( problems );
+        return toXml( result );
+    }
+
+    public void testSameResultAsStringSearchInterpolator()
+        throws Exception
+    {
+        String expected = interpolate( lookup( ModelInterpolator.class ), newModel() );
+        String actual = interpolate( createInterpolator(), newModel() );
+
+        assertEquals( expected, actual );
+        assertTrue( actual, actual.indexOf( "<name>test value</name>" ) >= 0 );
+        assertTrue( actual, actual.indexOf( "<module>value</module>" ) >= 0 );
+        assertTrue( actual, actual.indexOf( "attr=\"value\"" ) >= 0 );
+    }
+
+    public void testSameResultAsStringSearchInterpolatorForTestPoms()
+        throws Exception
+    {
+        File[] poms = getTestFile( "src/test/resources/poms/validation" ).listFiles();
+        assertTrue( poms.length > 0 );
+
+        for ( File pom : poms )
+        {
+            assertEquals( pom.getName(), interpolate( lookup( ModelInterpolator.class ), readModel( pom ) ),
+                          interpolate( createInterpolator(), readModel( pom ) ) );
+        }
+    }
+
+    private static Model readModel( File pom )
+        throws Exception
+    {
+        Reader reader = ReaderFactory.newXmlReader( pom );
+        try
+        {
+            return new MavenXpp3Reader().read( reader, false );
+        }
+        finally
+        {
+            IOUtil.close( reader );
+        }
+    }
+
+    public void testFinalAndStaticFieldsExcludedFromInterpolation()
+        throws Exception
+    {
+        ObjectWithFinalField obj = new ObjectWithFinalField();
+
+        SimpleProblemCollector problems = new SimpleProblemCollector();
+        CompiledModelInterpolator interpolator = (CompiledModelInterpolator) createInterpolator();
+        interpolator.interpolateObject( obj, new Model(), null, newRequest(), problems );
+
+        assertProblemFree( problems );
+        assertEquals( "${key}", obj.constant );
+        assertEquals( "value", obj.value );
+        assertEquals( "${key}", ObjectWithFinalField.STATIC );
+    }
+
+    public void testConcurrentInterpolation()
+        throws Exception
+    {
+        final ModelInterpolator interpolator = createInterpolator();
+        final String expected = interpolate( interpolator, newModel() );
+
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        try
+        {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for ( int i = 0; i < 100; i++ )
+            {
+                results.add( executor.submit( new Callable<String>()
+                {
+                    public String call()
+                        throws Exception
+                    {
+                        return interpolate( interpolator, newModel() );
+                    }
+                } ) );
+            }
+
+            for ( Future<String> result : results )
+            {
+                assertEquals( expected, result.get() );
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @SuppressWarnings( { "UnusedDeclaration" } )
+    static class ObjectWithFinalField
+    {
+        static String STATIC = "${key}";
+
+        final String constant = new String( "${key}" );
+
+        String value = "${key}";
+    }
+
+}
@@ -46,8 +46,20 @@ public class PluginDescriptorBuilder
     public PluginDescriptor build( Reader reader, String source )
         throws PlexusConfigurationException
     {
-        PlexusConfiguration c = buildConfiguration( reader );
+        return build( buildConfiguration( reader ), source );
+    }
 
+    /**
+     * Builds a plugin descriptor from its already parsed configuration, e.g. when the XML has been cached.
+     *
+     * @param c The configuration as read from {@code META-INF/maven/plugin.xml}, must not be {@code null}.
+     * @param source The location the descriptor was read from, may be {@code null}.
+     * @return The plugin descriptor, never {@code null}.
+     * @throws PlexusConfigurationException If the configuration is invalid.
+     */
+    public PluginDescriptor build( PlexusConfiguration c, String source )
+        throws PlexusConfigurationException
+    {
         PluginDescriptor pluginDescriptor = new PluginDescriptor();
 
         pluginDescriptor.setSource( source );